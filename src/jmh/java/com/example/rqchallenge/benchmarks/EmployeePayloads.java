@@ -0,0 +1,72 @@
+package com.example.rqchallenge.benchmarks;
+
+import com.example.rqchallenge.employees.Employee;
+import com.example.rqchallenge.employees.EmployeeListResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic upstream payloads shaped like {@code TestHelper.ALL_EMPLOYEES_JSON}, so that benchmarks run offline at any
+ * roster size. The same seed always produces the same roster.
+ */
+public class EmployeePayloads {
+    private static final String[] FIRST_NAMES = {"Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod",
+            "Rhona", "Colleen", "Sonya", "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul", "Gloria",
+            "Bradley", "Dai", "Jenette", "Yuri", "Caesar", "Doris"};
+    private static final String[] LAST_NAMES = {"Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler",
+            "Davidson", "Hurst", "Frost", "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Byrd",
+            "Little", "Greer", "Rios", "Caldwell", "Berry", "Vance", "Wilder"};
+
+    public static List<Employee> getEmployees(int count) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setEmployee_name(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + id);
+            employee.setEmployee_salary(50000 + random.nextInt(700000));
+            employee.setEmployee_age(18 + random.nextInt(50));
+            employee.setProfile_image("");
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    public static EmployeeListResponse getAllEmployeesResponse(int count) {
+        EmployeeListResponse response = new EmployeeListResponse();
+        response.setStatus("success");
+        response.setData(getEmployees(count));
+        response.setMessage("Successfully! All records has been fetched.");
+        return response;
+    }
+
+    public static byte[] getAllEmployeesJson(int count) {
+        return getAllEmployeesJson(count, false);
+    }
+
+    /**
+     * @param quotedNumbers whether numbers are sent as strings, as the real upstream does.
+     */
+    public static byte[] getAllEmployeesJson(int count, boolean quotedNumbers) {
+        String quote = quotedNumbers ? "\"" : "";
+        StringBuilder json = new StringBuilder(count * 110).append("{\"status\":\"success\",\"data\":[");
+        List<Employee> employees = getEmployees(count);
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(quote).append(employee.getId()).append(quote)
+                    .append(",\"employee_name\":\"").append(employee.getEmployee_name())
+                    .append("\",\"employee_salary\":").append(quote).append(employee.getEmployee_salary()).append(quote)
+                    .append(",\"employee_age\":").append(quote).append(employee.getEmployee_age()).append(quote)
+                    .append(",\"profile_image\":\"\"}");
+        }
+        json.append("],\"message\":\"Successfully! All records has been fetched.\"}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.rqchallenge.benchmarks;
+
+import com.example.rqchallenge.employees.Employee;
+import com.example.rqchallenge.employees.EmployeeJsonCodec;
+import com.example.rqchallenge.employees.EmployeeListResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson binding of the upstream listing and of the {@code GET /employees} response: reflective binding with an
+ * object mapper configured the way Spring Boot configures the application's, against the same mapper with
+ * {@link EmployeeJsonCodec}. The listing is read both with JSON numbers and with numbers sent as strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JsonBindingBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int employees;
+
+    @Param({"false", "true"})
+    private boolean quotedNumbers;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper codecMapper;
+    private byte[] upstreamJson;
+    private List<Employee> roster;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        codecMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(EmployeeJsonCodec.module()).build();
+        upstreamJson = EmployeePayloads.getAllEmployeesJson(employees, quotedNumbers);
+        roster = EmployeePayloads.getEmployees(employees);
+    }
+
+    @Benchmark
+    public EmployeeListResponse deserializeEmployeeList() throws IOException {
+        return objectMapper.readValue(upstreamJson, EmployeeListResponse.class);
+    }
+
+    @Benchmark
+    public EmployeeListResponse deserializeEmployeeListWithCodec() throws IOException {
+        return codecMapper.readValue(upstreamJson, EmployeeListResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeesResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeesResponseWithCodec() throws IOException {
+        return codecMapper.writeValueAsBytes(roster);
+    }
+}
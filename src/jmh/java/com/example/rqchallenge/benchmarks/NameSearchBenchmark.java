@@ -0,0 +1,53 @@
+package com.example.rqchallenge.benchmarks;
+
+import com.example.rqchallenge.employees.Employee;
+import com.example.rqchallenge.employees.Roster;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The filtering behind {@code getEmployeesByNameSearch}: a case-insensitive scan of the employee list against the
+ * roster's name index, for a selective query and a short one that matches many names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NameSearchBenchmark {
+    private static final int LIMIT = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int employees;
+
+    @Param({"Tiger Nixon 7", "ll"})
+    private String query;
+
+    private List<Employee> list;
+    private Roster roster;
+
+    @Setup
+    public void setUp() {
+        list = EmployeePayloads.getEmployees(employees);
+        roster = new Roster(list);
+    }
+
+    @Benchmark
+    public List<Employee> scan() {
+        String needle = query.toLowerCase(Locale.ROOT);
+        return list.stream()
+                .filter(e -> e.getEmployee_name().toLowerCase(Locale.ROOT).contains(needle))
+                .limit(LIMIT)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> indexed() {
+        return roster.findByNameContaining(query, LIMIT);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.rqchallenge.benchmarks;
+
+import com.example.rqchallenge.employees.Employee;
+import com.example.rqchallenge.employees.Roster;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The salary aggregates behind {@code getHighestSalaryOfEmployees} and {@code getTopTenHighestEarningEmployeeNames}:
+ * a linear scan and a full sort of the employee list, a bounded min-heap over it, and the roster's salary index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SalaryBenchmark {
+    private static final int TOP = 10;
+    private static final Comparator<Employee> BY_SALARY = Comparator.comparingInt(Employee::getEmployee_salary);
+
+    @Param({"1000", "100000", "1000000"})
+    private int employees;
+
+    private List<Employee> list;
+    private Roster roster;
+
+    @Setup
+    public void setUp() {
+        list = EmployeePayloads.getEmployees(employees);
+        roster = new Roster(list);
+    }
+
+    @Benchmark
+    public int highestSalaryScan() {
+        int highestSalary = 0;
+        for (Employee employee : list) {
+            highestSalary = Math.max(highestSalary, employee.getEmployee_salary());
+        }
+        return highestSalary;
+    }
+
+    @Benchmark
+    public int highestSalaryIndexed() {
+        return roster.getHighestSalary();
+    }
+
+    @Benchmark
+    public List<String> topTenFullSort() {
+        List<Employee> sorted = new ArrayList<>(list);
+        sorted.sort(BY_SALARY.reversed());
+        return sorted.subList(0, TOP).stream().map(Employee::getEmployee_name).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> topTenHeap() {
+        PriorityQueue<Employee> heap = new PriorityQueue<>(TOP + 1, BY_SALARY);
+        for (Employee employee : list) {
+            if (heap.size() < TOP) {
+                heap.add(employee);
+            } else if (employee.getEmployee_salary() > heap.peek().getEmployee_salary()) {
+                heap.poll();
+                heap.add(employee);
+            }
+        }
+        List<Employee> top = new ArrayList<>(heap);
+        top.sort(BY_SALARY.reversed());
+        return top.stream().map(Employee::getEmployee_name).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> topTenIndexed() {
+        return roster.getTopEarnerNames(TOP);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.rqchallenge.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are sent on a fixed schedule at the target rate whether or not earlier ones have
+ * completed, and latency is measured from the scheduled send time, so a stalled service shows up in the percentiles
+ * instead of silently lowering the request rate. Paths are requested round-robin.
+ */
+public class LoadDriver {
+    private static final double[] PERCENTILES = {50, 95, 99, 99.9};
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<String> paths;
+    private final double requestsPerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration timeout;
+
+    public LoadDriver(String baseUrl, List<String> paths, double requestsPerSecond, Duration warmup, Duration duration,
+                      Duration timeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()))
+                .build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.paths = paths;
+        this.requestsPerSecond = requestsPerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Runs the warmup, whose results are discarded, then the measured phase.
+     *
+     * @return latencies and outcomes of the measured phase, per path.
+     */
+    public Map<String, PathResult> run() throws InterruptedException {
+        if (!warmup.isZero()) {
+            drive(warmup);
+        }
+        return drive(duration);
+    }
+
+    private Map<String, PathResult> drive(Duration phase) throws InterruptedException {
+        Map<String, PathResult> results = new LinkedHashMap<>();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : paths) {
+            results.put(path, new PathResult());
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET().build());
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long total = Math.max(1, (long) (phase.toNanos() / (double) intervalNanos));
+        CountDownLatch completed = new CountDownLatch((int) Math.min(total, Integer.MAX_VALUE));
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = (int) (i % paths.size());
+            PathResult result = results.get(paths.get(index));
+            client.sendAsync(requests.get(index), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        result.record(System.nanoTime() - scheduled, error == null ? response.statusCode() : -1);
+                        completed.countDown();
+                    });
+        }
+        completed.await(timeout.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        long elapsedNanos = System.nanoTime() - start;
+        for (PathResult result : results.values()) {
+            result.elapsedNanos = elapsedNanos;
+        }
+        return results;
+    }
+
+    /**
+     * Formats the results as a table with one row per path and a total row.
+     */
+    public static String report(Map<String, PathResult> results) {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-45s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "path", "requests", "errors", "rps", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<String, PathResult> entry : withTotal(results).entrySet()) {
+            PathResult result = entry.getValue();
+            report.append(String.format(Locale.ROOT, "%-45s %8d %8d %8.1f", entry.getKey(), result.count(),
+                    result.errors(), result.throughput()));
+            for (double percentile : PERCENTILES) {
+                report.append(String.format(Locale.ROOT, " %9.2f", result.percentileMillis(percentile)));
+            }
+            report.append(String.format(Locale.ROOT, " %9.2f%n", result.percentileMillis(100)));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the results as JSON, one object per path plus a total.
+     */
+    public static void writeJson(Map<String, PathResult> results, Path file) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (Map.Entry<String, PathResult> entry : withTotal(results).entrySet()) {
+            PathResult result = entry.getValue();
+            json.append(json.length() > 1 ? "," : "").append("\n  {\"path\":\"").append(entry.getKey())
+                    .append("\",\"requests\":").append(result.count())
+                    .append(",\"errors\":").append(result.errors())
+                    .append(",\"throughput\":").append(String.format(Locale.ROOT, "%.2f", result.throughput()))
+                    .append(",\"statuses\":").append(result.statuses())
+                    .append(",\"latencyMillis\":{");
+            for (double percentile : PERCENTILES) {
+                json.append("\"p").append(String.valueOf(percentile).replace(".0", "")).append("\":")
+                        .append(String.format(Locale.ROOT, "%.3f", result.percentileMillis(percentile))).append(",");
+            }
+            json.append("\"max\":").append(String.format(Locale.ROOT, "%.3f", result.percentileMillis(100))).append("}}");
+        }
+        json.append("\n]\n");
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, PathResult> withTotal(Map<String, PathResult> results) {
+        Map<String, PathResult> all = new LinkedHashMap<>(results);
+        PathResult total = new PathResult();
+        for (PathResult result : results.values()) {
+            total.merge(result);
+        }
+        all.put("total", total);
+        return all;
+    }
+
+    /**
+     * Latencies and statuses of the requests to one path.
+     */
+    public static final class PathResult {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<Integer, Integer> statuses = new LinkedHashMap<>();
+        private long elapsedNanos;
+        private long[] sorted;
+
+        synchronized void record(long latencyNanos, int status) {
+            add(latencyNanos);
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+            statuses.merge(status, 1, Integer::sum);
+        }
+
+        synchronized void merge(PathResult other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Integer::sum));
+            elapsedNanos = Math.max(elapsedNanos, other.elapsedNanos);
+        }
+
+        private void add(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        public synchronized int count() {
+            return count;
+        }
+
+        public synchronized int errors() {
+            return errors;
+        }
+
+        public synchronized double throughput() {
+            return elapsedNanos == 0 ? 0 : count * 1e9 / elapsedNanos;
+        }
+
+        public synchronized String statuses() {
+            StringBuilder json = new StringBuilder("{");
+            statuses.forEach((status, count) -> json.append(json.length() > 1 ? "," : "")
+                    .append('"').append(status < 0 ? "failed" : status.toString()).append("\":").append(count));
+            return json.append('}').toString();
+        }
+
+        /**
+         * @param percentile between 0 and 100; 100 gives the maximum.
+         */
+        public synchronized double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (sorted == null || sorted.length != count) {
+                sorted = Arrays.copyOf(latencies, count);
+                Arrays.sort(sorted);
+            }
+            int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, rank))] / 1e6;
+        }
+    }
+}
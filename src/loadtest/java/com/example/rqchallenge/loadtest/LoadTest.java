@@ -0,0 +1,65 @@
+package com.example.rqchallenge.loadtest;
+
+import com.example.rqchallenge.RqChallengeApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a load test entirely offline: starts {@link StubUpstream}, starts the service against it on a free port and
+ * drives load at it with {@link LoadDriver}. With {@code loadtest.target} set, load goes to an already running service
+ * instead and neither the stub nor the service is started.
+ * <p>
+ * Configured through system properties, in addition to the {@code stub.*} ones of {@link StubUpstream} and any
+ * property of the service itself:
+ * <ul>
+ *     <li>{@code loadtest.rps}: target request rate (default 200)</li>
+ *     <li>{@code loadtest.warmup-seconds} and {@code loadtest.duration-seconds}: length of the discarded warmup and of
+ *     the measured run (defaults 10 and 30)</li>
+ *     <li>{@code loadtest.paths}: comma-separated paths requested round-robin</li>
+ *     <li>{@code loadtest.timeout-ms}: request timeout (default 10000)</li>
+ *     <li>{@code loadtest.results}: JSON results file (default build/reports/loadtest/results.json)</li>
+ * </ul>
+ */
+public class LoadTest {
+    private static final String DEFAULT_PATHS = "/employees,/employees/highestSalary,"
+            + "/employees/topTenHighestEarningEmployeeNames,/employees/search/Nixon,/employees/1";
+
+    public static void main(String[] args) throws Exception {
+        String target = System.getProperty("loadtest.target");
+        StubUpstream stub = null;
+        ConfigurableApplicationContext service = null;
+        if (target == null) {
+            System.setProperty("stub.port", System.getProperty("stub.port", "0"));
+            stub = StubUpstream.fromSystemProperties();
+            stub.start();
+            SpringApplication application = new SpringApplication(RqChallengeApplication.class);
+            service = application.run("--server.port=0", "--upstream.base-url=" + stub.getBaseUrl());
+            target = "http://127.0.0.1:" + service.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            List<String> paths = Arrays.asList(System.getProperty("loadtest.paths", DEFAULT_PATHS).split(","));
+            LoadDriver driver = new LoadDriver(target, paths,
+                    Double.parseDouble(System.getProperty("loadtest.rps", "200")),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                    Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                    Duration.ofMillis(Long.getLong("loadtest.timeout-ms", 10000)));
+            Map<String, LoadDriver.PathResult> results = driver.run();
+            System.out.print(LoadDriver.report(results));
+            LoadDriver.writeJson(results, Paths.get(System.getProperty("loadtest.results", "build/reports/loadtest/results.json")));
+        } finally {
+            if (service != null) {
+                service.close();
+            }
+            if (stub != null) {
+                stub.stop();
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.rqchallenge.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for dummy.restapiexample.com serving the four routes {@code DummyService} calls, for load tests that
+ * must not touch the real API.
+ * <p>
+ * Configured through system properties:
+ * <ul>
+ *     <li>{@code stub.port}: port to listen on, 0 for any free port (default 8089)</li>
+ *     <li>{@code stub.employees}: roster size (default 1000)</li>
+ *     <li>{@code stub.latency.median-ms} and {@code stub.latency.p99-ms}: response delays follow a log-normal
+ *     distribution with this median and 99th percentile (defaults 50 and 400; equal values give a fixed delay)</li>
+ *     <li>{@code stub.error-rate}: fraction of requests answered with 500 (default 0)</li>
+ *     <li>{@code stub.throttle-rate}: fraction of requests answered with 429 and {@code Retry-After: 1} (default 0)</li>
+ *     <li>{@code stub.threads}: handler threads, which bounds the requests being delayed at once (default 256)</li>
+ * </ul>
+ */
+public class StubUpstream {
+    private static final String[] FIRST_NAMES = {"Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod",
+            "Rhona", "Colleen", "Sonya", "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul", "Gloria"};
+    private static final String[] LAST_NAMES = {"Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler",
+            "Davidson", "Hurst", "Frost", "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Byrd"};
+    // the standard normal quantile of 0.99
+    private static final double Z_99 = 2.326;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String[] employeeJson;
+    private final byte[] allEmployeesJson;
+    private final double medianMillis;
+    private final double sigma;
+    private final double errorRate;
+    private final double throttleRate;
+    private final AtomicInteger nextId;
+
+    public StubUpstream(int port, int employees, double medianMillis, double p99Millis, double errorRate,
+                        double throttleRate, int threads) throws IOException {
+        this.medianMillis = medianMillis;
+        this.sigma = medianMillis > 0 && p99Millis > medianMillis ? Math.log(p99Millis / medianMillis) / Z_99 : 0;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+        this.nextId = new AtomicInteger(employees + 1);
+        employeeJson = new String[employees];
+        Random random = new Random(42);
+        StringBuilder all = new StringBuilder(employees * 110).append("{\"status\":\"success\",\"data\":[");
+        for (int i = 0; i < employees; i++) {
+            employeeJson[i] = employee(i + 1, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)], 50000 + random.nextInt(700000), 18 + random.nextInt(50));
+            all.append(i == 0 ? "" : ",").append(employeeJson[i]);
+        }
+        allEmployeesJson = all.append("],\"message\":\"Successfully! All records has been fetched.\"}")
+                .toString().getBytes(StandardCharsets.UTF_8);
+
+        executor = Executors.newFixedThreadPool(threads);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.createContext("/api/v1/employees", exchange -> handle(exchange, () -> allEmployeesJson));
+        server.createContext("/api/v1/employee/", exchange -> handle(exchange, () -> byId(exchange)));
+        server.createContext("/api/v1/create", exchange -> handle(exchange, () -> create(exchange)));
+        server.createContext("/api/v1/delete/", exchange -> handle(exchange,
+                () -> "{\"status\":\"success\",\"message\":\"successfully! deleted Record\"}".getBytes(StandardCharsets.UTF_8)));
+        server.setExecutor(executor);
+    }
+
+    public static StubUpstream fromSystemProperties() throws IOException {
+        return new StubUpstream(
+                Integer.getInteger("stub.port", 8089),
+                Integer.getInteger("stub.employees", 1000),
+                Double.parseDouble(System.getProperty("stub.latency.median-ms", "50")),
+                Double.parseDouble(System.getProperty("stub.latency.p99-ms", "400")),
+                Double.parseDouble(System.getProperty("stub.error-rate", "0")),
+                Double.parseDouble(System.getProperty("stub.throttle-rate", "0")),
+                Integer.getInteger("stub.threads", 256));
+    }
+
+    public static void main(String[] args) throws IOException {
+        StubUpstream stub = fromSystemProperties();
+        stub.start();
+        System.out.println("Stub upstream listening on " + stub.getBaseUrl());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    private interface Body {
+        byte[] get() throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Body body) throws IOException {
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delayMillis = Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+            if (delayMillis > 0) {
+                TimeUnit.MILLISECONDS.sleep(delayMillis);
+            }
+            double roll = random.nextDouble();
+            if (roll < throttleRate) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 429, "{\"message\":\"Too Many Attempts.\"}".getBytes(StandardCharsets.UTF_8));
+            } else if (roll < throttleRate + errorRate) {
+                send(exchange, 500, "{\"status\":\"error\"}".getBytes(StandardCharsets.UTF_8));
+            } else {
+                byte[] response = body.get();
+                send(exchange, response == null ? 404 : 200, response == null ? new byte[0] : response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] byId(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        try {
+            int id = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+            if (id < 1 || id > employeeJson.length) {
+                return null;
+            }
+            return ("{\"status\":\"success\",\"data\":" + employeeJson[id - 1] + ",\"message\":\"Successfully! Record has been fetched.\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private byte[] create(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        // the real API echoes the posted fields; a fixed record is enough to exercise the service
+        return ("{\"status\":\"success\",\"data\":" + employee(nextId.getAndIncrement(), "Load Test", 100000, 30) + "}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String employee(int id, String name, int salary, int age) {
+        return "{\"id\":" + id + ",\"employee_name\":\"" + name + "\",\"employee_salary\":" + salary
+                + ",\"employee_age\":" + age + ",\"profile_image\":\"\"}";
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -1,16 +1,73 @@
 package com.example.rqchallenge;
 
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @ComponentScan("com.example.rqchallenge")
 
 public class AppConfig {
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient upstreamHttpClient) {
+        return builder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(upstreamHttpClient)).build();
+    }
+
+    /**
+     * Connection pool shared by all upstream calls, sized per route so that one slow host cannot take every connection.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(
+            @Value("${upstream.http.max-connections:200}") int maxConnections,
+            @Value("${upstream.http.max-connections-per-route:50}") int maxConnectionsPerRoute) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+        return connectionManager;
+    }
+
+    /**
+     * Keep-alive HTTP client for the upstream API. Idle connections are reused for the keep-alive period unless the
+     * server asks for less, and responses are requested gzip-encoded when enabled.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            @Value("${upstream.http.keep-alive-ms:30000}") long keepAliveMillis,
+            @Value("${upstream.http.connect-timeout-ms:2000}") int connectTimeoutMillis,
+            @Value("${upstream.http.read-timeout-ms:5000}") int readTimeoutMillis,
+            @Value("${upstream.http.pool-acquire-timeout-ms:1000}") int poolAcquireTimeoutMillis,
+            @Value("${upstream.http.gzip:true}") boolean gzip) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMillis)
+                .setSocketTimeout(readTimeoutMillis)
+                .setConnectionRequestTimeout(poolAcquireTimeoutMillis)
+                .build();
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS);
+        if (!gzip) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
     }
-}
\ No newline at end of file
+}
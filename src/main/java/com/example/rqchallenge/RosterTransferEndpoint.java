@@ -0,0 +1,77 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.ImportProgress;
+import com.example.rqchallenge.employees.RosterExporter;
+import com.example.rqchallenge.employees.RosterImporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Actuator endpoint for bulk export and import of the roster, to and from files in {@code roster.transfer.dir}:
+ * {@code POST /actuator/rostertransfer/export} or {@code /import} with a {@code file} name, and {@code resume} to
+ * continue an interrupted import. Reading the endpoint returns the progress of the running or last import.
+ */
+@Component
+@Endpoint(id = "rostertransfer")
+public class RosterTransferEndpoint {
+    @Autowired
+    private RosterExporter rosterExporter;
+    @Autowired
+    private RosterImporter rosterImporter;
+    @Value("${roster.transfer.dir:}")
+    private String directory;
+
+    @ReadOperation
+    public ImportProgress importProgress() {
+        return rosterImporter.getProgress();
+    }
+
+    @WriteOperation
+    public Object transfer(@Selector String action, String file, @Nullable Boolean resume) {
+        Path path = resolve(file);
+        try {
+            if ("export".equals(action)) {
+                return rosterExporter.export(path);
+            }
+            if ("import".equals(action)) {
+                return rosterImporter.start(path, Boolean.TRUE.equals(resume));
+            }
+            throw new IllegalArgumentException("Unknown roster transfer " + action + ", expected export or import");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        } catch (NoSuchFileException e) {
+            throw new InvalidEndpointRequestException("No such file: " + file, "No such file");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Resolves a file name against the transfer directory, refusing names that lead out of it.
+     */
+    private Path resolve(String file) {
+        if (directory.isEmpty()) {
+            throw new InvalidEndpointRequestException("Roster transfer is off; set roster.transfer.dir", "Roster transfer is off");
+        }
+        Path root = Paths.get(directory).toAbsolutePath().normalize();
+        Path path = root.resolve(file).normalize();
+        if (!path.getParent().equals(root)) {
+            throw new InvalidEndpointRequestException("File must be a plain name in the transfer directory: " + file,
+                    "File must be a plain name in the transfer directory");
+        }
+        return path;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.rqchallenge;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the upstream connection pool statistics, used to size the pool.
+ */
+@Component
+@Endpoint(id = "upstreampool")
+public class UpstreamPoolEndpoint {
+    @Autowired
+    private PoolingHttpClientConnectionManager upstreamConnectionManager;
+
+    @ReadOperation
+    public Map<String, Object> poolStats() {
+        Map<String, Object> result = toMap(upstreamConnectionManager.getTotalStats());
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (HttpRoute route : upstreamConnectionManager.getRoutes()) {
+            routes.put(route.getTargetHost().toURI(), toMap(upstreamConnectionManager.getStats(route)));
+        }
+        result.put("routes", routes);
+        return result;
+    }
+
+    private static Map<String, Object> toMap(PoolStats stats) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("leased", stats.getLeased());
+        result.put("pending", stats.getPending());
+        result.put("available", stats.getAvailable());
+        result.put("max", stats.getMax());
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.rqchallenge.employees;
+
+/**
+ * Concurrency limit that adapts to the latency of the requests it lets through.
+ * <p>
+ * A short-term and a long-term moving average of request latency are kept. While the short-term average stays within
+ * {@code tolerance} times the long-term one the limit grows by about its square root per sample, and as latency rises
+ * past that the limit shrinks in proportion, down to {@code minLimit}. Changes are smoothed so that a single outlier
+ * moves the limit little. The long-term average follows a sustained drop in latency quickly, so the limit recovers
+ * once the slowdown is over. Samples taken while less than half the limit is in use are ignored: an idle limiter
+ * learns nothing about how much concurrency the system can take.
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double LONG_WEIGHT = 0.01;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private double limit;
+    private int inFlight;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * @param initialLimit limit until latencies have been observed.
+     * @param minLimit     lowest the limit can go.
+     * @param maxLimit     highest the limit can go.
+     * @param tolerance    how many times the long-term latency the short-term one may reach before the limit shrinks.
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * @return whether a request may go ahead; when it does, {@link #release(long, boolean)} must be called once it
+     * completes.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * @param latencyNanos how long the request took.
+     * @param sample       whether the latency says something about load, false for requests that failed early.
+     */
+    public synchronized void release(long latencyNanos, boolean sample) {
+        int inUse = inFlight;
+        inFlight--;
+        if (!sample) {
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = latencyNanos;
+            longRtt = latencyNanos;
+            return;
+        }
+        shortRtt += (latencyNanos - shortRtt) * SHORT_WEIGHT;
+        longRtt += (latencyNanos - longRtt) * LONG_WEIGHT;
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        if (inUse < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Pojo for the outcome of one item of a batch create
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private int index;
+    private int status;
+    private Employee employee;
+    private String error;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(int index, int status, Employee employee, String error) {
+        this.index = index;
+        this.status = status;
+        this.employee = employee;
+        this.error = error;
+    }
+
+    // Getters and setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.rqchallenge.employees;
+
+/**
+ * Consecutive-failure circuit breaker.
+ * <p>
+ * Closed, every request is let through and the breaker opens after the configured number of failures in a row. Open,
+ * requests are refused until the open interval has passed. Then a single probe is let through while half-open: its
+ * success closes the breaker, its failure opens it again.
+ */
+public class CircuitBreaker {
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * @param failureThreshold failures in a row that open the breaker.
+     * @param openMillis       how long the breaker stays open before a probe is let through.
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+    }
+
+    /**
+     * @return whether a request may go ahead; when it does, its outcome must be reported.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                // a probe is already in flight
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Reports a request whose outcome says nothing about the health of the upstream, such as a throttled one.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * @return milliseconds until a probe will be let through, or 0 when the breaker is not open.
+     */
+    public synchronized long getRemainingOpenMillis() {
+        return state == State.OPEN ? Math.max(0, (openNanos - (System.nanoTime() - openedAt)) / 1_000_000L) : 0;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.rqchallenge.employees;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load on the employee endpoints before it piles up, with an {@link AdaptiveConcurrencyLimit} per endpoint
+ * class.
+ * <p>
+ * Roster reads, by-ID lookups and writes are limited separately, so slow creates and deletes cannot take the
+ * capacity that cheap reads need. A request over its class's limit is answered at once with 503 and
+ * {@code Retry-After} instead of waiting for a thread. The limits follow the latency of the requests let through, from
+ * the moment the filter admits them until their asynchronous processing completes; server errors are not sampled,
+ * since failing fast says nothing about capacity. The long-lived streams are not limited.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+    private static final Set<String> READS = new HashSet<>(Arrays.asList(
+            "highestSalary", "topTenHighestEarningEmployeeNames", "topHighestEarningEmployeeNames", "stats", "search"));
+    private static final Set<String> STREAMS = new HashSet<>(Arrays.asList("stream", "changes"));
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EndpointClass> classes = new LinkedHashMap<>();
+
+    @Value("${employees.limiter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employees.limiter.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${employees.limiter.min-limit:4}")
+    private int minLimit;
+
+    @Value("${employees.limiter.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${employees.limiter.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${employees.limiter.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Autowired
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        for (String name : Arrays.asList("reads", "lookups", "writes")) {
+            classes.put(name, new EndpointClass(name));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classes.get(classify(request));
+        if (!endpointClass.limit.tryAcquire()) {
+            endpointClass.rejected.increment();
+            logger.warn("Rejecting {} {}: {} limit of {} reached", request.getMethod(), request.getRequestURI(),
+                    endpointClass.name, endpointClass.limit.getLimit());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+            return;
+        }
+        long startNanos = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                endpointClass.limit.release(System.nanoTime() - startNanos, response.getStatus() < 500);
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * @return the endpoint class of the request, or null when it is not limited.
+     */
+    private static String classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.equals("/employees") && !path.startsWith("/employees/")) {
+            return null;
+        }
+        if (!"GET".equals(request.getMethod())) {
+            return "writes";
+        }
+        if (path.equals("/employees")) {
+            return request.getParameter("ids") != null ? "lookups" : "reads";
+        }
+        int end = path.indexOf('/', "/employees/".length());
+        String segment = path.substring("/employees/".length(), end < 0 ? path.length() : end);
+        if (STREAMS.contains(segment)) {
+            return null;
+        }
+        return READS.contains(segment) ? "reads" : "lookups";
+    }
+
+    /**
+     * Limit and meters of one endpoint class.
+     */
+    private final class EndpointClass {
+        private final String name;
+        private final AdaptiveConcurrencyLimit limit;
+        private final Counter rejected;
+
+        private EndpointClass(String name) {
+            this.name = name;
+            this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance);
+            this.rejected = Counter.builder("employees.limiter.rejected").tag("class", name)
+                    .description("Requests rejected by the concurrency limit").register(meterRegistry);
+            Gauge.builder("employees.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit).tag("class", name)
+                    .description("Current concurrency limit").register(meterRegistry);
+            Gauge.builder("employees.limiter.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight).tag("class", name)
+                    .description("Requests being processed").register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.rqchallenge.employees;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies optimistic deletes in the background.
+ * <p>
+ * A delete acknowledged by the upstream is applied locally at once and queued here. Once it has been pending for the
+ * configured delay, which gives the upstream time to converge, it is checked together with every other due delete
+ * against a single upstream listing. Deletes whose employee is gone are confirmed. Those whose employee is still
+ * listed are checked again with exponential backoff and, after the last attempt, the employee is restored to the
+ * local roster. The state of each delete is kept for a while after it settles so that clients can look it up. The
+ * outcome is sent to the other instances through the {@link RosterReplicator}, which do not verify the delete
+ * themselves.
+ */
+@Component
+public class DeleteReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(DeleteReconciler.class);
+
+    @Autowired
+    private UpstreamClient upstreamClient;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private RosterReplicator rosterReplicator;
+
+    @Value("${employees.delete.reconcile-delay-ms:5000}")
+    private long delayMillis;
+
+    @Value("${employees.delete.reconcile-interval-ms:1000}")
+    private long intervalMillis;
+
+    @Value("${employees.delete.reconcile-max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${employees.delete.reconcile-batch-size:500}")
+    private int batchSize;
+
+    @Value("${employees.delete.status-retention-ms:600000}")
+    private long retentionMillis;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "delete-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Integer, DeletionStatus> statuses = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> dueAt = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::reconcileDue, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Queues a delete that has been applied locally for verification.
+     *
+     * @param id the id of the deleted employee.
+     */
+    public void enqueue(int id) {
+        long now = System.currentTimeMillis();
+        statuses.put(id, new DeletionStatus(id, DeletionStatus.State.PENDING, 0, now));
+        dueAt.put(id, now + delayMillis);
+    }
+
+    /**
+     * @return the reconciliation state of the delete, or null when no recent delete of the id is known.
+     */
+    public DeletionStatus getStatus(int id) {
+        return statuses.get(id);
+    }
+
+    private void reconcileDue() {
+        try {
+            long now = System.currentTimeMillis();
+            statuses.values().removeIf(status -> status.getState() != DeletionStatus.State.PENDING
+                    && now - status.getUpdatedAt() > retentionMillis);
+            List<Integer> batch = new ArrayList<>();
+            for (Iterator<Map.Entry<Integer, Long>> due = dueAt.entrySet().iterator(); due.hasNext() && batch.size() < batchSize; ) {
+                Map.Entry<Integer, Long> entry = due.next();
+                if (entry.getValue() <= now) {
+                    batch.add(entry.getKey());
+                }
+            }
+            if (!batch.isEmpty()) {
+                reconcile(batch);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to reconcile employee deletes: {}", e.toString());
+        }
+    }
+
+    private void reconcile(List<Integer> batch) {
+        ResponseEntity<EmployeeListResponse> response;
+        try {
+            response = upstreamClient.getEmployees().join();
+        } catch (RuntimeException e) {
+            response = null;
+        }
+        long now = System.currentTimeMillis();
+        if (response == null || response.getStatusCode() != HttpStatus.OK || !response.hasBody() || response.getBody().getData() == null) {
+            logger.warn("Could not fetch employee listing to verify {} deletes", batch.size());
+            for (Integer id : batch) {
+                retryOrSettle(id, now, DeletionStatus.State.UNVERIFIED, null);
+            }
+            return;
+        }
+        Map<Integer, Employee> listed = new HashMap<>();
+        for (Employee employee : response.getBody().getData()) {
+            listed.put(employee.getId(), employee);
+        }
+        for (Integer id : batch) {
+            Employee employee = listed.get(id);
+            if (employee == null) {
+                rosterCache.settleDeleted(id);
+                rosterReplicator.publishVerified(id, null);
+                settle(id, DeletionStatus.State.CONFIRMED, now);
+            } else {
+                retryOrSettle(id, now, DeletionStatus.State.RESTORED, employee);
+            }
+        }
+        logger.info("Reconciled {} employee deletes", batch.size());
+    }
+
+    /**
+     * Schedules another check of a delete with exponential backoff, or settles it after the last attempt.
+     *
+     * @param stillListed the employee as the upstream still lists it, or null when the listing was unavailable.
+     */
+    private void retryOrSettle(int id, long now, DeletionStatus.State finalState, Employee stillListed) {
+        DeletionStatus status = statuses.get(id);
+        int attempts = status == null ? 1 : status.getAttempts() + 1;
+        if (attempts < maxAttempts) {
+            statuses.put(id, new DeletionStatus(id, DeletionStatus.State.PENDING, attempts, now));
+            dueAt.put(id, now + (intervalMillis << Math.min(attempts, 10)));
+            return;
+        }
+        // the roster is settled before the status, so that a settled status means the roster reflects it
+        if (stillListed != null) {
+            logger.warn("Delete of employee {} did not take effect upstream, restoring it", id);
+            rosterCache.restore(stillListed);
+        } else {
+            logger.warn("Delete of employee {} could not be verified", id);
+            rosterCache.settleDeleted(id);
+        }
+        rosterReplicator.publishVerified(id, stillListed);
+        settle(id, finalState, now);
+    }
+
+    private void settle(int id, DeletionStatus.State state, long now) {
+        DeletionStatus status = statuses.get(id);
+        statuses.put(id, new DeletionStatus(id, state, status == null ? 1 : status.getAttempts() + 1, now));
+        dueAt.remove(id);
+    }
+}
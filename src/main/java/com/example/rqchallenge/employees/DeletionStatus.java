@@ -0,0 +1,66 @@
+package com.example.rqchallenge.employees;
+
+
+/**
+ * Pojo for the reconciliation state of an optimistic delete
+ */
+public class DeletionStatus {
+    public enum State {
+        /** Removed locally, not yet verified against the upstream listing. */
+        PENDING,
+        /** The upstream listing no longer contains the employee. */
+        CONFIRMED,
+        /** The upstream still had the employee after every verification, so it was put back locally. */
+        RESTORED,
+        /** The upstream listing could not be fetched to verify the delete; the local removal stands. */
+        UNVERIFIED
+    }
+
+    private int id;
+    private State state;
+    private int attempts;
+    private long updatedAt;
+
+    public DeletionStatus() {
+    }
+
+    public DeletionStatus(int id, State state, int attempts, long updatedAt) {
+        this.id = id;
+        this.state = state;
+        this.attempts = attempts;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
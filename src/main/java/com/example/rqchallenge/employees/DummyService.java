@@ -1,35 +1,76 @@
 package com.example.rqchallenge.employees;
 
-
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Collections;
+import java.util.function.Predicate;
+
 @Service
 public class DummyService {
-    private static final String BASE_URL = "https://dummy.restapiexample.com/";
+    @Value("${upstream.base-url:https://dummy.restapiexample.com/}")
+    private String baseUrl;
     @Autowired
     private RestTemplate restTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     public ResponseEntity<EmployeeListResponse> getEmployees() {
-        String uri = BASE_URL + "api/v1/employees";
+        String uri = baseUrl + "api/v1/employees";
         return restTemplate.getForEntity(uri, EmployeeListResponse.class);
     }
 
     public ResponseEntity<EmployeeResponse> getEmployeeById(String id) {
-        String uri = BASE_URL + "api/v1/employee/" + id;
+        String uri = baseUrl + "api/v1/employee/" + id;
         return restTemplate.getForEntity(uri, EmployeeResponse.class);
     }
 
     public ResponseEntity<EmployeeResponse> createEmployee(Employee employee) {
-        String uri = BASE_URL + "api/v1/create";
+        String uri = baseUrl + "api/v1/create";
         // call POST API
         return restTemplate.postForEntity(uri, employee, EmployeeResponse.class);
     }
 
     public void deleteEmployee(String id) {
-        String uri = BASE_URL + "api/v1/delete/" + id;
+        String uri = baseUrl + "api/v1/delete/" + id;
         restTemplate.delete(uri);
     }
+
+    /**
+     * Streams the employees listing, parsing the response body incrementally instead of binding the whole list.
+     *
+     * @param consumer receives each employee in upstream order and returns false to stop reading.
+     */
+    public void streamEmployees(Predicate<Employee> consumer) {
+        String uri = baseUrl + "api/v1/employees";
+        restTemplate.execute(uri, HttpMethod.GET, request -> request.getHeaders().setAccept(Collections.singletonList(MediaType.APPLICATION_JSON)), response -> {
+            try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Expected employees listing object");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    if (parser.nextToken() == JsonToken.START_ARRAY && "data".equals(field)) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            if (!consumer.test(objectMapper.readValue(parser, Employee.class))) {
+                                return null;
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            return null;
+        });
+    }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.example.rqchallenge.employees;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 public class Employee {
+    // longest name accepted on create, in UTF-8 bytes, so that a replicated event fits one datagram even fully escaped
+    public static final int MAX_NAME_BYTES = 1024;
+
     private int id;
     private String employee_name;
     private int employee_salary;
@@ -48,6 +52,11 @@ public class Employee {
         this.profile_image = profile_image;
     }
 
+    public static boolean isNameWithinLimit(String name) {
+        return name == null || name.length() * 3 <= MAX_NAME_BYTES
+                || name.getBytes(StandardCharsets.UTF_8).length <= MAX_NAME_BYTES;
+    }
+
     // Override the equals method to compare employees based on their id as this should be the unique identifier for the employee
     public boolean equals(Object o) {
         if (this == o) return true;
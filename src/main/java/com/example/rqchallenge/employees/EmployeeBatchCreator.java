@@ -0,0 +1,156 @@
+package com.example.rqchallenge.employees;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates many employees through the upstream API with a bounded number of requests in flight.
+ * <p>
+ * A batch keeps at most {@code employees.batch.max-concurrency} creates in flight and starts the next one as soon as
+ * one completes. Calls are started on a shared pool of the same size, so blocking calls of concurrent batches stay
+ * within that bound too. Results are reported per item in input order, and the created employees are applied to the
+ * cached roster in one step once the whole batch has completed.
+ */
+@Component
+public class EmployeeBatchCreator {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBatchCreator.class);
+
+    @Autowired
+    private UpstreamClient upstreamClient;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private RosterReplicator rosterReplicator;
+
+    @Value("${employees.batch.max-concurrency:16}")
+    private int maxConcurrency;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "employee-batch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param employees employees to create; a null entry stands for an invalid input and is reported as a bad request.
+     * @return a future completed with one result per employee, in input order, once every create has completed.
+     */
+    public CompletableFuture<List<BatchItemResult>> createAll(List<Employee> employees) {
+        return new Batch(employees).start();
+    }
+
+    /**
+     * One batch in progress; each completed create starts the next pending one.
+     */
+    private final class Batch {
+        private final List<Employee> employees;
+        private final BatchItemResult[] results;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<BatchItemResult>> done = new CompletableFuture<>();
+
+        private Batch(List<Employee> employees) {
+            this.employees = employees;
+            this.results = new BatchItemResult[employees.size()];
+            int valid = 0;
+            for (int i = 0; i < results.length; i++) {
+                if (employees.get(i) == null) {
+                    results[i] = new BatchItemResult(i, HttpStatus.BAD_REQUEST.value(), null,
+                            "name, salary and age are required, the name at most " + Employee.MAX_NAME_BYTES + " bytes");
+                } else {
+                    valid++;
+                }
+            }
+            this.remaining = new AtomicInteger(valid);
+        }
+
+        private CompletableFuture<List<BatchItemResult>> start() {
+            int valid = remaining.get();
+            if (valid == 0) {
+                finish();
+            }
+            for (int i = 0; i < Math.min(maxConcurrency, valid); i++) {
+                startNext();
+            }
+            return done;
+        }
+
+        private void startNext() {
+            int index = next.getAndIncrement();
+            while (index < employees.size() && employees.get(index) == null) {
+                index = next.getAndIncrement();
+            }
+            if (index >= employees.size()) {
+                return;
+            }
+            Employee employee = employees.get(index);
+            int item = index;
+            CompletableFuture
+                    .supplyAsync(() -> upstreamClient.createEmployee(employee), executor)
+                    .thenCompose(response -> response)
+                    .whenComplete((response, error) -> complete(item, toResult(item, response, error)));
+        }
+
+        private BatchItemResult toResult(int index, ResponseEntity<EmployeeResponse> response, Throwable error) {
+            if (error != null) {
+                logger.error("Failed to create employee {} of batch: {}", index, error.getMessage());
+                return new BatchItemResult(index, HttpStatus.BAD_GATEWAY.value(), null, error.getMessage());
+            }
+            if (response.getStatusCode() == HttpStatus.OK && response.hasBody() && response.getBody().getData() != null) {
+                return new BatchItemResult(index, HttpStatus.OK.value(), response.getBody().getData(), null);
+            }
+            logger.error("Failed to create employee {} of batch with status code: {}", index, response.getStatusCode());
+            return new BatchItemResult(index, response.getStatusCodeValue(), null, null);
+        }
+
+        private void complete(int index, BatchItemResult result) {
+            results[index] = result;
+            if (remaining.decrementAndGet() == 0) {
+                finish();
+            } else {
+                startNext();
+            }
+        }
+
+        private void finish() {
+            List<Employee> created = new ArrayList<>();
+            for (BatchItemResult result : results) {
+                if (result.getEmployee() != null) {
+                    created.add(result.getEmployee());
+                }
+            }
+            rosterCache.applyCreated(created);
+            rosterReplicator.publishCreated(created);
+            logger.info("Created {} of {} employees in batch", created.size(), results.length);
+            done.complete(Arrays.asList(results));
+        }
+    }
+}
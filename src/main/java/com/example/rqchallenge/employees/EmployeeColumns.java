@@ -0,0 +1,438 @@
+package com.example.rqchallenge.employees;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Columnar, primitive-specialized storage for the roster.
+ * <p>
+ * Ids, salaries and ages live in int columns. Names are UTF-8 bytes packed into one shared array and addressed by
+ * offset and length, and profile images are dictionary-encoded since nearly all of them are empty. An open-addressing
+ * map finds the row of an id. Deleted rows are tombstoned so that row order, and with it upstream order, stays stable;
+ * they are compacted away once they make up a quarter of the rows. An overwritten name reuses its old bytes when the
+ * new one fits and is appended otherwise; the bytes no row points to any more are compacted away too once they make up
+ * a quarter of the name bytes, so a roster that is only ever upserted does not grow. {@link Employee} objects are only
+ * created when a row is read. Not thread-safe; {@link Roster} guards it with its lock.
+ * <p>
+ * Memory footprint, 64-bit JVM with compressed oops, employees with 13-character ASCII names and empty profile images:
+ * a {@code List<Employee>} costs about 92 bytes per employee (32 for the Employee, 24 for the name String, 32 for its
+ * byte array, 4 for the list slot) while a row here costs about 50 (24 for the six int columns, 13 for the name bytes,
+ * about 8 for the id map, which stores rows only, and slack for growth). {@link #estimatedBytes()} and
+ * {@link #estimatedListBytes(List)} compute both for a given roster.
+ */
+public class EmployeeColumns {
+    private static final int NO_VALUE = -1;
+
+    private int[] ids;
+    private int[] salaries;
+    private int[] ages;
+    private int[] nameOffsets;
+    private int[] nameLengths;
+    private int[] imageCodes;
+    private byte[] names;
+    private int namesLength;
+    // name bytes no live row points to, left behind by deletes and overwrites
+    private int deadNameBytes;
+    private final BitSet deleted = new BitSet();
+    private final List<String> imageDictionary = new ArrayList<>();
+    private final Map<String, Integer> imageCodesByValue = new HashMap<>();
+    private final IdRowMap rowsById;
+    private int rows;
+    private int deletedRows;
+
+    public EmployeeColumns(int capacity) {
+        capacity = Math.max(capacity, 16);
+        ids = new int[capacity];
+        salaries = new int[capacity];
+        ages = new int[capacity];
+        nameOffsets = new int[capacity];
+        nameLengths = new int[capacity];
+        imageCodes = new int[capacity];
+        names = new byte[capacity * 16];
+        rowsById = new IdRowMap(capacity);
+    }
+
+    private EmployeeColumns(EmployeeColumns source) {
+        ids = Arrays.copyOf(source.ids, Math.max(source.rows, 16));
+        salaries = Arrays.copyOf(source.salaries, ids.length);
+        ages = Arrays.copyOf(source.ages, ids.length);
+        nameOffsets = Arrays.copyOf(source.nameOffsets, ids.length);
+        nameLengths = Arrays.copyOf(source.nameLengths, ids.length);
+        imageCodes = Arrays.copyOf(source.imageCodes, ids.length);
+        names = Arrays.copyOf(source.names, Math.max(source.namesLength, 16));
+        namesLength = source.namesLength;
+        deadNameBytes = source.deadNameBytes;
+        deleted.or(source.deleted);
+        imageDictionary.addAll(source.imageDictionary);
+        imageCodesByValue.putAll(source.imageCodesByValue);
+        rows = source.rows;
+        deletedRows = source.deletedRows;
+        rowsById = new IdRowMap(rows);
+        for (int row = 0; row < rows; row++) {
+            if (!deleted.get(row)) {
+                rowsById.put(row);
+            }
+        }
+    }
+
+    /**
+     * @return an independent copy of this store.
+     */
+    public EmployeeColumns copy() {
+        return new EmployeeColumns(this);
+    }
+
+    /**
+     * @return the number of employees, not counting deleted rows.
+     */
+    public int size() {
+        return rows - deletedRows;
+    }
+
+    /**
+     * @return the number of rows including deleted ones; rows are numbered from 0.
+     */
+    public int rowCount() {
+        return rows;
+    }
+
+    public boolean isLive(int row) {
+        return !deleted.get(row);
+    }
+
+    /**
+     * @return the row of the employee with this id, or -1 when there is none.
+     */
+    public int rowOf(int id) {
+        return rowsById.get(id);
+    }
+
+    /**
+     * @return the last deleted row that held the employee with this id, or -1 when there is none or it was compacted
+     * away.
+     */
+    public int deletedRowOf(int id) {
+        int found = NO_VALUE;
+        for (int row = deleted.nextSetBit(0); row >= 0; row = deleted.nextSetBit(row + 1)) {
+            if (ids[row] == id) {
+                found = row;
+            }
+        }
+        return found;
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public int getSalary(int row) {
+        return salaries[row];
+    }
+
+    public int getAge(int row) {
+        return ages[row];
+    }
+
+    public String getName(int row) {
+        int length = nameLengths[row];
+        return length == NO_VALUE ? null : new String(names, nameOffsets[row], length, StandardCharsets.UTF_8);
+    }
+
+    public String getProfileImage(int row) {
+        int code = imageCodes[row];
+        return code == NO_VALUE ? null : imageDictionary.get(code);
+    }
+
+    /**
+     * @return whether the row holds the same fields as a row of another store, compared without decoding either.
+     */
+    public boolean sameFields(int row, EmployeeColumns other, int otherRow) {
+        int length = nameLengths[row];
+        if (salaries[row] != other.salaries[otherRow] || ages[row] != other.ages[otherRow]
+                || length != other.nameLengths[otherRow]
+                || !Objects.equals(getProfileImage(row), other.getProfileImage(otherRow))) {
+            return false;
+        }
+        return length == NO_VALUE || Arrays.equals(names, nameOffsets[row], nameOffsets[row] + length,
+                other.names, other.nameOffsets[otherRow], other.nameOffsets[otherRow] + length);
+    }
+
+    public Employee materialize(int row) {
+        Employee employee = new Employee();
+        employee.setId(ids[row]);
+        employee.setEmployee_name(getName(row));
+        employee.setEmployee_salary(salaries[row]);
+        employee.setEmployee_age(ages[row]);
+        employee.setProfile_image(getProfileImage(row));
+        return employee;
+    }
+
+    /**
+     * Adds an employee, overwriting the row of an existing employee with the same id in place.
+     *
+     * @return the row of the employee.
+     */
+    public int put(Employee employee) {
+        int row = rowsById.get(employee.getId());
+        if (row == NO_VALUE) {
+            row = rows;
+            ensureCapacity(rows + 1);
+            rows++;
+            ids[row] = employee.getId();
+            nameLengths[row] = NO_VALUE;
+            rowsById.put(row);
+        }
+        salaries[row] = employee.getEmployee_salary();
+        ages[row] = employee.getEmployee_age();
+        setName(row, employee.getEmployee_name());
+        imageCodes[row] = encodeImage(employee.getProfile_image());
+        if (deadNameBytes > 4096 && deadNameBytes * 4L > namesLength) {
+            compact();
+            row = rowsById.get(employee.getId());
+        }
+        return row;
+    }
+
+    /**
+     * @return whether an employee with this id was removed.
+     */
+    public boolean remove(int id) {
+        int row = rowsById.remove(id);
+        if (row == NO_VALUE) {
+            return false;
+        }
+        deleted.set(row);
+        deletedRows++;
+        if (nameLengths[row] != NO_VALUE) {
+            deadNameBytes += nameLengths[row];
+        }
+        if (deletedRows > 16 && deletedRows * 4 > rows || deadNameBytes > 4096 && deadNameBytes * 4L > namesLength) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of name bytes no live row points to, which the next compaction reclaims.
+     */
+    public int deadNameBytes() {
+        return deadNameBytes;
+    }
+
+    /**
+     * @return the approximate heap size of this store in bytes.
+     */
+    public long estimatedBytes() {
+        return 6 * arrayBytes(4L * ids.length) + arrayBytes(names.length) + arrayBytes(deleted.size() / 8)
+                + rowsById.estimatedBytes();
+    }
+
+    /**
+     * @return the approximate heap size in bytes of the same employees held as a {@code List<Employee>}.
+     */
+    public static long estimatedListBytes(List<Employee> employees) {
+        long bytes = 24 + arrayBytes(4L * employees.size());
+        for (Employee employee : employees) {
+            bytes += 32 + stringBytes(employee.getEmployee_name()) + stringBytes(employee.getProfile_image());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        // empty strings are shared constants after JSON binding
+        return value == null || value.isEmpty() ? 0 : 24 + arrayBytes(value.length());
+    }
+
+    private static long arrayBytes(long payload) {
+        return (16 + payload + 7) & ~7L;
+    }
+
+    private void setName(int row, String name) {
+        int oldLength = nameLengths[row];
+        if (name == null) {
+            if (oldLength != NO_VALUE) {
+                deadNameBytes += oldLength;
+            }
+            nameLengths[row] = NO_VALUE;
+            return;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (oldLength != NO_VALUE && bytes.length <= oldLength) {
+            System.arraycopy(bytes, 0, names, nameOffsets[row], bytes.length);
+            nameLengths[row] = bytes.length;
+            deadNameBytes += oldLength - bytes.length;
+            return;
+        }
+        if (oldLength != NO_VALUE) {
+            deadNameBytes += oldLength;
+        }
+        if (namesLength + bytes.length > names.length) {
+            names = Arrays.copyOf(names, Math.max(namesLength + bytes.length, names.length + (names.length >> 1)));
+        }
+        System.arraycopy(bytes, 0, names, namesLength, bytes.length);
+        nameOffsets[row] = namesLength;
+        nameLengths[row] = bytes.length;
+        namesLength += bytes.length;
+    }
+
+    private int encodeImage(String image) {
+        if (image == null) {
+            return NO_VALUE;
+        }
+        Integer code = imageCodesByValue.get(image);
+        if (code == null) {
+            code = imageDictionary.size();
+            imageDictionary.add(image);
+            imageCodesByValue.put(image, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, newCapacity);
+            salaries = Arrays.copyOf(salaries, newCapacity);
+            ages = Arrays.copyOf(ages, newCapacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, newCapacity);
+            nameLengths = Arrays.copyOf(nameLengths, newCapacity);
+            imageCodes = Arrays.copyOf(imageCodes, newCapacity);
+        }
+    }
+
+    /**
+     * Drops deleted rows and the name bytes no row points to any more, keeping the order of the remaining rows.
+     */
+    private void compact() {
+        byte[] compactedNames = new byte[Math.max(16, namesLength)];
+        int compactedNamesLength = 0;
+        int target = 0;
+        for (int row = 0; row < rows; row++) {
+            if (deleted.get(row)) {
+                continue;
+            }
+            ids[target] = ids[row];
+            salaries[target] = salaries[row];
+            ages[target] = ages[row];
+            imageCodes[target] = imageCodes[row];
+            nameLengths[target] = nameLengths[row];
+            if (nameLengths[row] != NO_VALUE) {
+                System.arraycopy(names, nameOffsets[row], compactedNames, compactedNamesLength, nameLengths[row]);
+                nameOffsets[target] = compactedNamesLength;
+                compactedNamesLength += nameLengths[row];
+            }
+            target++;
+        }
+        names = compactedNames;
+        namesLength = compactedNamesLength;
+        deadNameBytes = 0;
+        deleted.clear();
+        rows = target;
+        deletedRows = 0;
+        rowsById.rebuild();
+    }
+
+    /**
+     * Open-addressing map from id to row with linear probing and backward-shift deletion. Slots hold only the row; the
+     * key is read back from the id column, which halves the size of the table.
+     */
+    private final class IdRowMap {
+        private int[] slots;
+        private int mask;
+        private int size;
+
+        IdRowMap(int expected) {
+            allocate(Integer.highestOneBit(Math.max(16, expected * 4 / 3) - 1) << 1);
+        }
+
+        int get(int id) {
+            for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+                int row = slots[slot];
+                if (row == NO_VALUE || ids[row] == id) {
+                    return row;
+                }
+            }
+        }
+
+        /**
+         * Maps the id currently stored in the row to the row; the id must not be mapped yet.
+         */
+        void put(int row) {
+            if ((size + 1) * 4L > slots.length * 3L) {
+                resize();
+            }
+            int slot = hash(ids[row]) & mask;
+            while (slots[slot] != NO_VALUE) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = row;
+            size++;
+        }
+
+        int remove(int id) {
+            int slot = hash(id) & mask;
+            while (slots[slot] != NO_VALUE && ids[slots[slot]] != id) {
+                slot = (slot + 1) & mask;
+            }
+            int row = slots[slot];
+            if (row == NO_VALUE) {
+                return NO_VALUE;
+            }
+            int hole = slot;
+            for (int next = (hole + 1) & mask; slots[next] != NO_VALUE; next = (next + 1) & mask) {
+                int ideal = hash(ids[slots[next]]) & mask;
+                // the entry may only move back if the hole lies between its ideal slot and its current one
+                if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                    slots[hole] = slots[next];
+                    hole = next;
+                }
+            }
+            slots[hole] = NO_VALUE;
+            size--;
+            return row;
+        }
+
+        /**
+         * Maps every live row again, after compaction has moved them.
+         */
+        void rebuild() {
+            Arrays.fill(slots, NO_VALUE);
+            size = 0;
+            for (int row = 0; row < rows; row++) {
+                put(row);
+            }
+        }
+
+        long estimatedBytes() {
+            return arrayBytes(4L * slots.length);
+        }
+
+        private void resize() {
+            int[] oldSlots = slots;
+            allocate(slots.length * 2);
+            size = 0;
+            for (int row : oldSlots) {
+                if (row != NO_VALUE) {
+                    put(row);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            slots = new int[capacity];
+            Arrays.fill(slots, NO_VALUE);
+            mask = capacity - 1;
+        }
+
+        private int hash(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
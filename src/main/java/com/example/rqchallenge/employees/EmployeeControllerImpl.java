@@ -1,17 +1,25 @@
 package com.example.rqchallenge.employees;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Comparator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.springframework.http.HttpStatus.EXPECTATION_FAILED;
 import static org.springframework.http.HttpStatus.OK;
@@ -20,25 +28,66 @@ import static org.springframework.http.HttpStatus.OK;
 @RequestMapping("/employees")
 public class EmployeeControllerImpl implements IEmployeeController {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeControllerImpl.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @Autowired
-    private DummyService dummyService;
+    private UpstreamClient upstreamClient;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private EmployeeStreamWriter employeeStreamWriter;
+
+    @Autowired
+    private EmployeeBatchCreator employeeBatchCreator;
+
+    @Autowired
+    private DeleteReconciler deleteReconciler;
+
+    @Autowired
+    private EmployeeLoader employeeLoader;
+
+    @Autowired
+    private RosterChangeFeed changeFeed;
+
+    @Autowired
+    private RosterReplicator rosterReplicator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${roster.top-earners.max-limit:1000}")
+    private int topEarnersMaxLimit;
+
+    @Value("${roster.range.max-limit:1000}")
+    private int rangeMaxLimit;
+
+    @Value("${roster.search.max-limit:1000}")
+    private int searchMaxLimit;
+
+    @Value("${employees.batch.max-size:10000}")
+    private int batchMaxSize;
+
+    @Value("${employees.multi-get.max-ids:100}")
+    private int multiGetMaxIds;
 
 
     /**
-     * Retrieves a list of all employees from the API.
+     * Maps a failed roster lookup to a ResponseEntity carrying the upstream status.
      *
-     * @return the list of employees.
-     * @throws ResponseStatusException if there is an issue with the API request or response.
+     * @param throwable the failure, possibly wrapped in a CompletionException.
+     * @param message   log message with one placeholder for the failure message.
+     * @return a ResponseEntity with the status of the ResponseStatusException.
+     * @throws CompletionException if the failure is not a ResponseStatusException.
      */
-    private List<Employee> getAllEmployeesResponse() throws ResponseStatusException {
-        ResponseEntity<EmployeeListResponse> responseEntity = dummyService.getEmployees();
-        if (responseEntity.getStatusCode() == HttpStatus.OK && responseEntity.hasBody()) {
-            return responseEntity.getBody().getData();
-        } else {
-            throw new ResponseStatusException(responseEntity.getStatusCode());
+    private static <T> ResponseEntity<T> failedRosterResponse(Throwable throwable, String message) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (cause instanceof ResponseStatusException) {
+            logger.error(message, cause.getMessage());
+            return new ResponseEntity<>(((ResponseStatusException) cause).getStatus());
         }
-
+        throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(cause);
     }
 
     /**
@@ -47,78 +96,241 @@ public class EmployeeControllerImpl implements IEmployeeController {
      * @return A ResponseEntity containing the list of employees.
      */
     @Override
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        try {
-            List<Employee> employees = getAllEmployeesResponse();
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return rosterCache.getRosterAsync().thenApply(roster -> {
+            List<Employee> employees = roster.getEmployees();
             logger.info("Retrieved all employees successfully.");
             return ResponseEntity.ok(employees);
-        } catch (ResponseStatusException e) {
-            logger.error("Error while retrieving all employees: {}", e.getMessage());
-            return new ResponseEntity<>(e.getStatus());
+        }).exceptionally(e -> failedRosterResponse(e, "Error while retrieving all employees: {}"));
+    }
+
+    /**
+     * Retrieves one page of the employees within a salary and an age range, ordered by salary or age.
+     *
+     * @param minSalary The lowest salary to include, or null for no lower bound.
+     * @param maxSalary The highest salary to include, or null for no upper bound.
+     * @param minAge    The lowest age to include, or null for no lower bound.
+     * @param maxAge    The highest age to include, or null for no upper bound.
+     * @param sort      Either "salary" or "age".
+     * @param order     Either "asc" or "desc".
+     * @param limit     The maximum number of employees to return, capped at the configured maximum.
+     * @param offset    The number of matching employees to skip.
+     * @return A ResponseEntity containing the page of matching employees.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> findEmployees(Integer minSalary, Integer maxSalary,
+                                                                           Integer minAge, Integer maxAge,
+                                                                           String sort, String order,
+                                                                           Integer limit, int offset) {
+        boolean byAge = "age".equalsIgnoreCase(sort);
+        boolean descending = "desc".equalsIgnoreCase(order);
+        if (!byAge && !"salary".equalsIgnoreCase(sort) || !descending && !"asc".equalsIgnoreCase(order)) {
+            logger.error("Invalid employee ordering: {} {}", sort, order);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        if (limit != null && limit < 1 || offset < 0) {
+            logger.error("Invalid employee page: limit {} offset {}", limit, offset);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        int maxResults = limit == null ? rangeMaxLimit : Math.min(limit, rangeMaxLimit);
+        return rosterCache.getRosterAsync().thenApply(roster -> {
+            List<Employee> result = roster.findInRange(
+                    minSalary == null ? Integer.MIN_VALUE : minSalary, maxSalary == null ? Integer.MAX_VALUE : maxSalary,
+                    minAge == null ? Integer.MIN_VALUE : minAge, maxAge == null ? Integer.MAX_VALUE : maxAge,
+                    byAge, descending, offset, maxResults);
+            logger.info("Retrieved {} employees in range", result.size());
+            return ResponseEntity.ok(result);
+        }).exceptionally(e -> failedRosterResponse(e, "Error while retrieving employees in range: {}"));
+    }
+
+    /**
+     * Streams all employees without materializing the roster, optionally one page at a time.
+     *
+     * @param cursor The ID of the last employee of the previous page, or null to start at the beginning.
+     * @param limit  The maximum number of employees to stream, or null for all of them.
+     * @param format Either "ndjson" for one employee per line or "json" for a chunked JSON array.
+     * @return A ResponseEntity whose body writes the employees as they are read.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(Integer cursor, Integer limit, String format) {
+        if (limit != null && limit < 1) {
+            logger.error("Invalid stream limit: {}", limit);
+            return ResponseEntity.badRequest().build();
         }
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"json".equalsIgnoreCase(format)) {
+            logger.error("Invalid stream format: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON)
+                .body(out -> {
+                    employeeStreamWriter.write(out, ndjson, cursor, limit);
+                    logger.info("Streamed employees after cursor {} successfully.", cursor);
+                });
+    }
+
+    /**
+     * Serves GET /employees?cursor= as the next page of {@link #streamAllEmployees}, so that a cursor is never ignored.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamEmployeesAfter(int cursor, Integer limit, String format) {
+        return streamAllEmployees(cursor, limit, format);
+    }
+
+    /**
+     * Streams roster changes as Server-Sent Events, each with the feed's epoch and its sequence number as event id.
+     *
+     * @param lastEventId The event id of the last change seen before reconnecting, or null for new changes only.
+     * @return An emitter streaming the changes; a "reset" event means changes were missed and the roster should be
+     * reloaded.
+     */
+    @Override
+    public SseEmitter streamChanges(String lastEventId) {
+        logger.info("Subscribing to roster changes after {}", lastEventId);
+        return changeFeed.subscribe(lastEventId);
     }
 
     /**
-     * Retrieves all employees matching name provided.
+     * Retrieves all employees whose name contains the string provided, ignoring case.
      *
      * @param searchString The name to search for.
      * @return A ResponseEntity containing the list of employees matching the search criteria.
      */
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString) {
+        return getEmployeesByNameSearch(searchString, "contains", null);
+    }
+
+    /**
+     * Retrieves employees matching the name provided, ignoring case.
+     *
+     * @param searchString The name to search for.
+     * @param mode         Either "contains" or "prefix".
+     * @param limit        The maximum number of employees to return, capped at the configured maximum.
+     * @return A ResponseEntity containing the list of employees matching the search criteria.
+     */
     @Override
-    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
-        try {
-            List<Employee> employees = getAllEmployeesResponse();
-            List<Employee> result = employees.stream().filter(e -> e.getEmployee_name().equals(searchString)).collect(Collectors.toList());
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString, String mode, Integer limit) {
+        if (limit != null && limit < 1) {
+            logger.error("Invalid search limit: {}", limit);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        boolean prefix = "prefix".equalsIgnoreCase(mode);
+        if (!prefix && !"contains".equalsIgnoreCase(mode)) {
+            logger.error("Invalid search mode: {}", mode);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        int maxResults = limit == null ? searchMaxLimit : Math.min(limit, searchMaxLimit);
+        return rosterCache.getRosterAsync().thenApply(roster -> {
+            List<Employee> result = prefix
+                    ? roster.findByNamePrefix(searchString, maxResults)
+                    : roster.findByNameContaining(searchString, maxResults);
             logger.info("Employee {} found successfully", searchString);
 
             return ResponseEntity.ok(result);
-        } catch (ResponseStatusException e) {
-            logger.error("Error while retrieving employee: {}", e.getMessage());
-            return new ResponseEntity<>(e.getStatus());
-        }
+        }).exceptionally(e -> failedRosterResponse(e, "Error while retrieving employee: {}"));
     }
 
     /**
-     * Retrieves an employee by ID.
+     * Retrieves an employee by ID, falling back to the cached roster while the upstream is throttling or down.
+     * Concurrent lookups are coalesced by the {@link EmployeeLoader}.
      *
      * @param id The ID of the employee to retrieve.
      * @return A ResponseEntity containing the employee with the specified ID.
      */
     @Override
-    public ResponseEntity<Employee> getEmployeeById(String id) {
-        ResponseEntity<EmployeeResponse> response = dummyService.getEmployeeById(id);
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(String id) {
+        return employeeLoader.load(id).thenApply(response -> toEmployeeResponse(id, response));
+    }
+
+    /**
+     * Retrieves the employees with the IDs given, in the order given. IDs without an employee are left out.
+     *
+     * @param ids The IDs of the employees to retrieve; duplicates are returned once.
+     * @return A ResponseEntity containing the employees found, or the status of the first lookup that failed.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByIds(List<String> ids) {
+        if (ids.isEmpty() || ids.size() > multiGetMaxIds) {
+            logger.error("Invalid number of employee IDs: {}", ids.size());
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        for (String id : ids) {
+            if (id.isEmpty() || !id.chars().allMatch(Character::isDigit)) {
+                logger.error("Invalid employee ID: {}", id);
+                return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+            }
+        }
+        return employeeLoader.loadAll(ids).thenApply(responses -> {
+            List<Employee> employees = new ArrayList<>(responses.size());
+            for (Map.Entry<String, ResponseEntity<EmployeeResponse>> entry : responses.entrySet()) {
+                ResponseEntity<Employee> response = toEmployeeResponse(entry.getKey(), entry.getValue());
+                if (response.getStatusCode() == OK) {
+                    employees.add(response.getBody());
+                } else if (response.getStatusCode() != HttpStatus.NOT_FOUND) {
+                    return new ResponseEntity<List<Employee>>(response.getStatusCode());
+                }
+            }
+            logger.info("Retrieved {} of {} employees by ID", employees.size(), responses.size());
+            return ResponseEntity.ok(employees);
+        });
+    }
+
+    private ResponseEntity<Employee> toEmployeeResponse(String id, ResponseEntity<EmployeeResponse> response) {
         if (response.getStatusCode() == OK && response.hasBody()) {
             Employee employee = response.getBody().getData();
             logger.info("Retrieved employee by ID: {}", id);
             return ResponseEntity.ok(employee);
         }
+        if (response.getStatusCode().is5xxServerError() || response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+            Employee cached = findCachedEmployee(id);
+            if (cached != null) {
+                logger.warn("Serving cached employee {} after upstream status {}", id, response.getStatusCode());
+                return ResponseEntity.ok(cached);
+            }
+        }
         logger.error("Error while retrieving employee by ID: {}", response.getStatusCode());
         return new ResponseEntity<>(response.getStatusCode());
     }
 
+    private Employee findCachedEmployee(String id) {
+        Roster roster = rosterCache.peekStale();
+        if (roster == null) {
+            return null;
+        }
+        try {
+            return roster.getEmployee(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * Retrieves the highest salary among all employees.
      *
      * @return A ResponseEntity containing the highest salary.
      */
     @Override
-    public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        try {
-            List<Employee> employees = getAllEmployeesResponse();
-            int highestSalary = 0; // Assuming salaries are non-negative
-
-            for (Employee employee : employees) {
-                int salary = employee.getEmployee_salary();
-                if (salary > highestSalary) {
-                    highestSalary = salary;
-                }
-            }
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return rosterCache.getRosterAsync().thenApply(roster -> {
+            int highestSalary = roster.getHighestSalary();
             logger.info("Retrieved Highest salary successfully");
             return ResponseEntity.ok(highestSalary);
-        } catch (ResponseStatusException e) {
-            logger.error("Error while retrieving highest salary of employees: {}", e.getMessage());
-            return new ResponseEntity<>(e.getStatus());
-        }
+        }).exceptionally(e -> failedRosterResponse(e, "Error while retrieving highest salary of employees: {}"));
+    }
+
+    /**
+     * Retrieves salary statistics of all employees, overall and per age band.
+     *
+     * @return A ResponseEntity containing the salary statistics.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeStats>> getEmployeeStats() {
+        return rosterCache.getRosterAsync().thenApply(roster -> {
+            EmployeeStats stats = roster.getStats();
+            logger.info("Retrieved employee statistics successfully");
+            return ResponseEntity.ok(stats);
+        }).exceptionally(e -> failedRosterResponse(e, "Error while retrieving employee statistics: {}"));
     }
 
     /**
@@ -127,19 +339,27 @@ public class EmployeeControllerImpl implements IEmployeeController {
      * @return A ResponseEntity containing a list of the names of the top ten highest-earning employees.
      */
     @Override
-    public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        try {
-            List<Employee> employees = getAllEmployeesResponse();
-            employees.sort(new SortEmployeeBySalary()); //sort the array using comparator
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return getTopHighestEarningEmployeeNames(10);
+    }
 
-            List<Employee> topTen = employees.subList(0, 10);
-            List<String> result = topTen.stream().map(Employee::getEmployee_name).collect(Collectors.toList());
+    /**
+     * Retrieves the names of the highest-earning employees, highest salary first.
+     *
+     * @param limit The number of names to return, capped at the configured maximum.
+     * @return A ResponseEntity containing a list of the names of the highest-earning employees.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNames(int limit) {
+        if (limit < 1) {
+            logger.error("Invalid top earners limit: {}", limit);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        return rosterCache.getRosterAsync().thenApply(roster -> {
+            List<String> result = roster.getTopEarnerNames(Math.min(limit, topEarnersMaxLimit));
             logger.info("Retrieved Highest salary employees successfully: {}", result);
             return ResponseEntity.ok(result);
-        } catch (ResponseStatusException e) {
-            logger.error("Error while retrieving top 10 highest salary employees: {}", e.getMessage());
-            return new ResponseEntity<>(e.getStatus());
-        }
+        }).exceptionally(e -> failedRosterResponse(e, "Error while retrieving top highest salary employees: {}"));
     }
 
     /**
@@ -149,13 +369,65 @@ public class EmployeeControllerImpl implements IEmployeeController {
      * @return A ResponseEntity containing the created employee.
      */
     @Override
-    public ResponseEntity<Employee> createEmployee(Map<String, Object> employeeInput) {
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(Map<String, Object> employeeInput) {
+        if (employeeInput.get("name") instanceof String && !Employee.isNameWithinLimit((String) employeeInput.get("name"))) {
+            logger.error("Employee name exceeds {} bytes", Employee.MAX_NAME_BYTES);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        return createEmployee(toEmployee(employeeInput));
+    }
+
+    /**
+     * Creates the employees of a JSON array or NDJSON stream, each given as for {@link #createEmployee(Map)}.
+     *
+     * @param employeeInputs the request body.
+     * @return A ResponseEntity containing one result per employee, in input order.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<List<BatchItemResult>>> createEmployees(InputStream employeeInputs) {
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        try (MappingIterator<Map<String, Object>> items = objectMapper.readerFor(Map.class).readValues(employeeInputs)) {
+            while (items.hasNextValue()) {
+                if (inputs.size() == batchMaxSize) {
+                    logger.error("Employee batch exceeds {} items", batchMaxSize);
+                    return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE));
+                }
+                inputs.add(items.nextValue());
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Invalid employee batch: {}", e.getMessage());
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        return createEmployees(inputs);
+    }
+
+    /**
+     * Creates the employees given, with a bounded number of upstream requests in flight.
+     *
+     * @param employeeInputs maps containing details of the employees.
+     * @return A ResponseEntity containing one result per employee, in input order.
+     */
+    public CompletableFuture<ResponseEntity<List<BatchItemResult>>> createEmployees(List<Map<String, Object>> employeeInputs) {
+        List<Employee> employees = new ArrayList<>(employeeInputs.size());
+        for (Map<String, Object> employeeInput : employeeInputs) {
+            boolean valid = employeeInput.get("name") instanceof String
+                    && Employee.isNameWithinLimit((String) employeeInput.get("name"))
+                    && employeeInput.get("salary") instanceof Integer
+                    && employeeInput.get("age") instanceof Integer;
+            employees.add(valid ? toEmployee(employeeInput) : null);
+        }
+        return employeeBatchCreator.createAll(employees).thenApply(results -> {
+            logger.info("Processed batch of {} employees", results.size());
+            return ResponseEntity.ok(results);
+        });
+    }
+
+    private static Employee toEmployee(Map<String, Object> employeeInput) {
         Employee employee = new Employee();
         employee.setEmployee_name((String) employeeInput.get("name"));
         employee.setEmployee_salary((Integer) employeeInput.get("salary"));
         employee.setEmployee_age((Integer) employeeInput.get("age"));
-
-        return createEmployee(employee);
+        return employee;
     }
 
     /**
@@ -164,44 +436,67 @@ public class EmployeeControllerImpl implements IEmployeeController {
      * @param employee The Employee object to create.
      * @return A ResponseEntity containing the created employee.
      */
-    public ResponseEntity<Employee> createEmployee(Employee employee) {
-        ResponseEntity<EmployeeResponse> response = dummyService.createEmployee(employee);
-
-        if (response.getStatusCode() == OK && response.hasBody()) {
-            Employee createdEmployee = response.getBody().getData();
-            logger.info("Successfully created employee: {}", createdEmployee);
-            return ResponseEntity.ok(createdEmployee);
-        }
-        logger.error("Failed to create employee with status code: {}", response.getStatusCode());
-        return new ResponseEntity<>(response.getStatusCode());
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(Employee employee) {
+        return upstreamClient.createEmployee(employee).thenApply(response -> {
+            if (response.getStatusCode() == OK && response.hasBody()) {
+                Employee createdEmployee = response.getBody().getData();
+                rosterCache.applyCreated(createdEmployee);
+                rosterReplicator.publishCreated(createdEmployee);
+                logger.info("Successfully created employee: {}", createdEmployee);
+                return ResponseEntity.ok(createdEmployee);
+            }
+            logger.error("Failed to create employee with status code: {}", response.getStatusCode());
+            return new ResponseEntity<>(response.getStatusCode());
+        });
     }
 
     /**
-     * Deletes an employee with the specified ID.
+     * Deletes an employee with the specified ID. The employee is removed locally, and from the other instances through
+     * the {@link RosterReplicator}, as soon as the upstream acknowledges the delete; verification happens in the
+     * background.
      *
      * @param id The ID of the employee to delete.
      * @return A ResponseEntity containing a status message indicating the result of the deletion.
      */
     @Override
-    public ResponseEntity<String> deleteEmployeeById(String id) {
-        dummyService.deleteEmployee(id);
-        if (getEmployeeById(id).getStatusCode() == HttpStatus.NOT_FOUND) {
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(String id) {
+        return upstreamClient.deleteEmployee(id).thenApply(deleted -> {
+            rosterCache.applyDeleted(id);
+            rosterReplicator.publishDeleted(id);
+            try {
+                deleteReconciler.enqueue(Integer.parseInt(id));
+            } catch (NumberFormatException e) {
+                logger.debug("Not reconciling delete of non-numeric employee id {}", id);
+            }
             logger.info("Employee deleted successfully with ID: {}", id);
             return ResponseEntity.ok("Employee deleted successfully");
-        }
-        logger.error("Application failed to remove Employee with ID: {}", id);
-        return new ResponseEntity<>("Application failed to remove Employee", EXPECTATION_FAILED);
+        }).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            HttpStatus status = cause instanceof ResponseStatusException ? ((ResponseStatusException) cause).getStatus() : EXPECTATION_FAILED;
+            logger.error("Application failed to remove Employee with ID: {}", id);
+            return new ResponseEntity<>("Application failed to remove Employee", status);
+        });
     }
 
-
     /**
-     * Helper class extending Comparator interface for sorting Employees by Salary in descending order.
+     * Retrieves the reconciliation state of a recent delete.
+     *
+     * @param id The ID of the deleted employee.
+     * @return A ResponseEntity containing the state of the delete, or 404 when no recent delete of the ID is known.
      */
-    static class SortEmployeeBySalary implements Comparator<Employee> {
-        // descending order
-        public int compare(Employee a, Employee b) {
-            return b.getEmployee_salary() - a.getEmployee_salary();
+    @Override
+    public ResponseEntity<DeletionStatus> getDeletionStatus(String id) {
+        DeletionStatus status;
+        try {
+            status = deleteReconciler.getStatus(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid employee ID: {}", id);
+            return ResponseEntity.badRequest().build();
+        }
+        if (status == null) {
+            return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok(status);
     }
 
 }
@@ -0,0 +1,86 @@
+package com.example.rqchallenge.employees;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV encoding of employees as RFC 4180 records: fields holding a comma, quote or line break are quoted, with quotes
+ * doubled. The header names the columns as the JSON binding does.
+ */
+final class EmployeeCsv {
+    static final String HEADER = "id,employee_name,employee_salary,employee_age,profile_image";
+
+    private EmployeeCsv() {
+    }
+
+    /**
+     * Appends the employee's record, without a line break.
+     */
+    static void append(StringBuilder out, Employee employee) {
+        out.append(employee.getId()).append(',');
+        appendField(out, employee.getEmployee_name());
+        out.append(',').append(employee.getEmployee_salary())
+                .append(',').append(employee.getEmployee_age()).append(',');
+        appendField(out, employee.getProfile_image());
+    }
+
+    /**
+     * Splits a record into its fields, unquoting quoted ones.
+     *
+     * @throws IllegalArgumentException if a quoted field is not closed.
+     */
+    static List<String> parse(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void appendField(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written Jackson serializers and deserializers for {@link Employee} and the two upstream response wrappers,
+ * registered with the application's object mapper and so used by the upstream clients and the controller alike.
+ * <p>
+ * The upstream sends numbers either as JSON numbers or as strings ({@code "320800"}); both are read straight from the
+ * parser's character buffer into an int without creating a String, and an empty or null value reads as 0 like the
+ * default binding. Empty strings, which nearly every {@code profile_image} is, are read as the shared {@code ""}
+ * constant, and a profile image equal to the previous one in the same listing reuses that instance. Field names are
+ * written from pre-encoded constants in the order the default binding uses, so the output is unchanged.
+ */
+@JsonComponent
+public class EmployeeJsonCodec {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString EMPLOYEE_NAME = new SerializedString("employee_name");
+    private static final SerializedString EMPLOYEE_SALARY = new SerializedString("employee_salary");
+    private static final SerializedString EMPLOYEE_AGE = new SerializedString("employee_age");
+    private static final SerializedString PROFILE_IMAGE = new SerializedString("profile_image");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+
+    /**
+     * @return a module with the codec, for object mappers not built by Spring Boot.
+     */
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("EmployeeJsonCodec");
+        module.addSerializer(Employee.class, new EmployeeSerializer());
+        module.addDeserializer(Employee.class, new EmployeeDeserializer());
+        module.addSerializer(EmployeeListResponse.class, new EmployeeListResponseSerializer());
+        module.addDeserializer(EmployeeListResponse.class, new EmployeeListResponseDeserializer());
+        module.addSerializer(EmployeeResponse.class, new EmployeeResponseSerializer());
+        module.addDeserializer(EmployeeResponse.class, new EmployeeResponseDeserializer());
+        return module;
+    }
+
+    public static class EmployeeSerializer extends JsonSerializer<Employee> {
+        @Override
+        public void serialize(Employee employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeEmployee(employee, generator);
+        }
+
+        @Override
+        public Class<Employee> handledType() {
+            return Employee.class;
+        }
+    }
+
+    public static class EmployeeDeserializer extends JsonDeserializer<Employee> {
+        @Override
+        public Employee deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return readEmployee(parser, context, null);
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return Employee.class;
+        }
+    }
+
+    public static class EmployeeListResponseSerializer extends JsonSerializer<EmployeeListResponse> {
+        @Override
+        public void serialize(EmployeeListResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            writeString(generator, STATUS, response.getStatus());
+            generator.writeFieldName(DATA);
+            List<Employee> data = response.getData();
+            if (data == null) {
+                generator.writeNull();
+            } else {
+                generator.writeStartArray();
+                for (Employee employee : data) {
+                    writeEmployee(employee, generator);
+                }
+                generator.writeEndArray();
+            }
+            writeString(generator, MESSAGE, response.getMessage());
+            generator.writeEndObject();
+        }
+
+        @Override
+        public Class<EmployeeListResponse> handledType() {
+            return EmployeeListResponse.class;
+        }
+    }
+
+    public static class EmployeeListResponseDeserializer extends JsonDeserializer<EmployeeListResponse> {
+        @Override
+        public EmployeeListResponse deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            EmployeeListResponse response = new EmployeeListResponse();
+            for (JsonToken token = startObject(parser, context, EmployeeListResponse.class); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    List<Employee> data = new ArrayList<>();
+                    String[] previousImage = new String[1];
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        data.add(parser.currentToken() == JsonToken.VALUE_NULL ? null : readEmployee(parser, context, previousImage));
+                    }
+                    response.setData(data);
+                } else if ("status".equals(field)) {
+                    response.setStatus(readString(parser));
+                } else if ("message".equals(field)) {
+                    response.setMessage(readString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return response;
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return EmployeeListResponse.class;
+        }
+    }
+
+    public static class EmployeeResponseSerializer extends JsonSerializer<EmployeeResponse> {
+        @Override
+        public void serialize(EmployeeResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            writeString(generator, STATUS, response.getStatus());
+            generator.writeFieldName(DATA);
+            writeEmployee(response.getData(), generator);
+            writeString(generator, MESSAGE, response.getMessage());
+            generator.writeEndObject();
+        }
+
+        @Override
+        public Class<EmployeeResponse> handledType() {
+            return EmployeeResponse.class;
+        }
+    }
+
+    public static class EmployeeResponseDeserializer extends JsonDeserializer<EmployeeResponse> {
+        @Override
+        public EmployeeResponse deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            EmployeeResponse response = new EmployeeResponse();
+            for (JsonToken token = startObject(parser, context, EmployeeResponse.class); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                    response.setData(readEmployee(parser, context, null));
+                } else if ("status".equals(field)) {
+                    response.setStatus(readString(parser));
+                } else if ("message".equals(field)) {
+                    response.setMessage(readString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return response;
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return EmployeeResponse.class;
+        }
+    }
+
+    private static void writeEmployee(Employee employee, JsonGenerator generator) throws IOException {
+        if (employee == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(employee.getId());
+        writeString(generator, EMPLOYEE_NAME, employee.getEmployee_name());
+        generator.writeFieldName(EMPLOYEE_SALARY);
+        generator.writeNumber(employee.getEmployee_salary());
+        generator.writeFieldName(EMPLOYEE_AGE);
+        generator.writeNumber(employee.getEmployee_age());
+        writeString(generator, PROFILE_IMAGE, employee.getProfile_image());
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializedString field, String value) throws IOException {
+        generator.writeFieldName(field);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    /**
+     * Reads an employee object, the parser positioned at its start.
+     *
+     * @param previousImage holds the last profile image read in the same listing, or null outside a listing.
+     */
+    private static Employee readEmployee(JsonParser parser, DeserializationContext context, String[] previousImage) throws IOException {
+        Employee employee = new Employee();
+        for (JsonToken token = startObject(parser, context, Employee.class); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            // field names come from the parser's symbol table, so comparing them allocates nothing
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    employee.setId(readInt(parser, context));
+                    break;
+                case "employee_name":
+                    employee.setEmployee_name(readString(parser));
+                    break;
+                case "employee_salary":
+                    employee.setEmployee_salary(readInt(parser, context));
+                    break;
+                case "employee_age":
+                    employee.setEmployee_age(readInt(parser, context));
+                    break;
+                case "profile_image":
+                    employee.setProfile_image(readImage(parser, previousImage));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return employee;
+    }
+
+    /**
+     * @return the token after the start of the object: the first field name or the end of the object.
+     */
+    private static JsonToken startObject(JsonParser parser, DeserializationContext context, Class<?> type) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return parser.nextToken();
+        }
+        if (token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT) {
+            // the object was started by the caller, as when binding from a field of a larger document
+            return token;
+        }
+        return (JsonToken) context.handleUnexpectedToken(type, parser);
+    }
+
+    private static int readInt(JsonParser parser, DeserializationContext context) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getIntValue();
+            case VALUE_NUMBER_FLOAT:
+                return (int) parser.getDoubleValue();
+            case VALUE_NULL:
+                return 0;
+            case VALUE_STRING:
+                return parseInt(parser, context);
+            default:
+                return (Integer) context.handleUnexpectedToken(int.class, parser);
+        }
+    }
+
+    /**
+     * Parses a decimal int from the characters of a string token, surrounding whitespace allowed.
+     */
+    private static int parseInt(JsonParser parser, DeserializationContext context) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int start = parser.getTextOffset();
+        int end = start + parser.getTextLength();
+        while (start < end && chars[start] <= ' ') {
+            start++;
+        }
+        while (end > start && chars[end - 1] <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return 0;
+        }
+        boolean negative = chars[start] == '-';
+        int position = negative || chars[start] == '+' ? start + 1 : start;
+        if (position == end) {
+            return invalidInt(parser, context);
+        }
+        // accumulate negatively so that Integer.MIN_VALUE parses without overflow
+        long value = 0;
+        for (; position < end; position++) {
+            int digit = chars[position] - '0';
+            if (digit < 0 || digit > 9) {
+                return invalidInt(parser, context);
+            }
+            value = value * 10 - digit;
+            if (value < Integer.MIN_VALUE) {
+                return invalidInt(parser, context);
+            }
+        }
+        if (!negative && value == Integer.MIN_VALUE) {
+            return invalidInt(parser, context);
+        }
+        return (int) (negative ? value : -value);
+    }
+
+    private static int invalidInt(JsonParser parser, DeserializationContext context) throws IOException {
+        return (Integer) context.handleWeirdStringValue(int.class, parser.getText(), "not a valid int value");
+    }
+
+    private static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_STRING && parser.getTextLength() == 0) {
+            return "";
+        }
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static String readImage(JsonParser parser, String[] previousImage) throws IOException {
+        if (previousImage == null || parser.currentToken() != JsonToken.VALUE_STRING || parser.getTextLength() == 0) {
+            return readString(parser);
+        }
+        String previous = previousImage[0];
+        if (previous != null && previous.length() == parser.getTextLength() && matches(previous, parser)) {
+            return previous;
+        }
+        previousImage[0] = parser.getText();
+        return previousImage[0];
+    }
+
+    private static boolean matches(String value, JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.rqchallenge.employees;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads employees by ID, coalescing concurrent lookups into batches.
+ * <p>
+ * Lookups of an ID that is already in flight share its result. New IDs are collected for
+ * {@code employees.loader.batch-window-ms}, or until {@code employees.loader.max-batch-size} are pending, and then
+ * resolved together: IDs the cached roster can serve without waiting are answered from it, and the rest are fetched
+ * from the upstream API with at most {@code employees.loader.max-concurrency} requests in flight across all batches.
+ * Results are not kept once delivered, so a later lookup of the same ID is loaded again.
+ */
+@Component
+public class EmployeeLoader {
+
+    @Autowired
+    private UpstreamClient upstreamClient;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Value("${employees.loader.batch-window-ms:2}")
+    private long batchWindowMillis;
+
+    @Value("${employees.loader.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Value("${employees.loader.max-concurrency:8}")
+    private int maxConcurrency;
+
+    private final Map<String, CompletableFuture<ResponseEntity<EmployeeResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Queue<String> upstreamQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger upstreamInFlight = new AtomicInteger();
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "employee-loader-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param id the ID of the employee to load.
+     * @return a future completed with the upstream response for the ID, or with a synthesized 200 response when the
+     * cached roster holds it.
+     */
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> load(String id) {
+        CompletableFuture<ResponseEntity<EmployeeResponse>> created = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<EmployeeResponse>> existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            return existing;
+        }
+        pending.add(id);
+        if (pendingCount.incrementAndGet() >= maxBatchSize || batchWindowMillis <= 0) {
+            flush();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+        }
+        return created;
+    }
+
+    /**
+     * @param ids the IDs of the employees to load; duplicates are loaded once.
+     * @return a future completed with the response for each distinct ID, in the order first given.
+     */
+    public CompletableFuture<Map<String, ResponseEntity<EmployeeResponse>>> loadAll(List<String> ids) {
+        Map<String, CompletableFuture<ResponseEntity<EmployeeResponse>>> futures = new LinkedHashMap<>();
+        for (String id : ids) {
+            futures.computeIfAbsent(id, this::load);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Map<String, ResponseEntity<EmployeeResponse>> responses = new LinkedHashMap<>();
+            futures.forEach((id, future) -> responses.put(id, future.join()));
+            return responses;
+        });
+    }
+
+    /**
+     * Resolves the pending IDs: from the roster where possible, otherwise by queueing them for the upstream API.
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        List<String> batch = new ArrayList<>();
+        String id;
+        while ((id = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(id);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        Roster roster = rosterCache.peek();
+        for (String batched : batch) {
+            Employee employee = roster == null ? null : findEmployee(roster, batched);
+            if (employee != null) {
+                EmployeeResponse response = new EmployeeResponse();
+                response.setStatus("success");
+                response.setData(employee);
+                complete(batched, ResponseEntity.ok(response));
+            } else {
+                upstreamQueue.add(batched);
+            }
+        }
+        pump();
+    }
+
+    private static Employee findEmployee(Roster roster, String id) {
+        try {
+            return roster.getEmployee(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Starts queued upstream lookups while fewer than the configured number are in flight.
+     */
+    private void pump() {
+        while (!upstreamQueue.isEmpty()) {
+            int running = upstreamInFlight.get();
+            if (running >= maxConcurrency) {
+                return;
+            }
+            if (!upstreamInFlight.compareAndSet(running, running + 1)) {
+                continue;
+            }
+            String id = upstreamQueue.poll();
+            if (id == null) {
+                upstreamInFlight.decrementAndGet();
+                return;
+            }
+            // started on the pool, since a blocking client runs the call on the calling thread
+            CompletableFuture.supplyAsync(() -> upstreamClient.getEmployeeById(id), executor)
+                    .thenCompose(response -> response)
+                    .whenComplete((response, throwable) -> {
+                        upstreamInFlight.decrementAndGet();
+                        CompletableFuture<ResponseEntity<EmployeeResponse>> future = inFlight.remove(id);
+                        if (future != null) {
+                            if (throwable != null) {
+                                future.completeExceptionally(throwable);
+                            } else {
+                                future.complete(response);
+                            }
+                        }
+                        pump();
+                    });
+        }
+    }
+
+    private void complete(String id, ResponseEntity<EmployeeResponse> response) {
+        CompletableFuture<ResponseEntity<EmployeeResponse>> future = inFlight.remove(id);
+        if (future != null) {
+            future.complete(response);
+        }
+    }
+}
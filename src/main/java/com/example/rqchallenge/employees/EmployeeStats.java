@@ -0,0 +1,147 @@
+package com.example.rqchallenge.employees;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pojo for salary statistics of the roster, overall and per age band
+ */
+public class EmployeeStats {
+    private int count;
+    private double meanSalary;
+    private int medianSalary;
+    private int minSalary;
+    private int maxSalary;
+    private Map<String, Integer> salaryPercentiles;
+    private int salaryBucketWidth;
+    private List<AgeBand> ageBands;
+
+    /**
+     * Pojo for the salaries of one age band; {@code salaryHistogram[i]} counts salaries from
+     * {@code i * salaryBucketWidth}, the last bucket holding everything above.
+     */
+    public static class AgeBand {
+        private int minAge;
+        private Integer maxAge;
+        private int count;
+        private double meanSalary;
+        private List<Integer> salaryHistogram;
+
+        public AgeBand() {
+        }
+
+        public AgeBand(int minAge, Integer maxAge, int count, double meanSalary, List<Integer> salaryHistogram) {
+            this.minAge = minAge;
+            this.maxAge = maxAge;
+            this.count = count;
+            this.meanSalary = meanSalary;
+            this.salaryHistogram = salaryHistogram;
+        }
+
+        // Getters and setters
+        public int getMinAge() {
+            return minAge;
+        }
+
+        public void setMinAge(int minAge) {
+            this.minAge = minAge;
+        }
+
+        public Integer getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Integer maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public double getMeanSalary() {
+            return meanSalary;
+        }
+
+        public void setMeanSalary(double meanSalary) {
+            this.meanSalary = meanSalary;
+        }
+
+        public List<Integer> getSalaryHistogram() {
+            return salaryHistogram;
+        }
+
+        public void setSalaryHistogram(List<Integer> salaryHistogram) {
+            this.salaryHistogram = salaryHistogram;
+        }
+    }
+
+    // Getters and setters
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public double getMeanSalary() {
+        return meanSalary;
+    }
+
+    public void setMeanSalary(double meanSalary) {
+        this.meanSalary = meanSalary;
+    }
+
+    public int getMedianSalary() {
+        return medianSalary;
+    }
+
+    public void setMedianSalary(int medianSalary) {
+        this.medianSalary = medianSalary;
+    }
+
+    public int getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(int minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public int getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(int maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public Map<String, Integer> getSalaryPercentiles() {
+        return salaryPercentiles;
+    }
+
+    public void setSalaryPercentiles(Map<String, Integer> salaryPercentiles) {
+        this.salaryPercentiles = salaryPercentiles;
+    }
+
+    public int getSalaryBucketWidth() {
+        return salaryBucketWidth;
+    }
+
+    public void setSalaryBucketWidth(int salaryBucketWidth) {
+        this.salaryBucketWidth = salaryBucketWidth;
+    }
+
+    public List<AgeBand> getAgeBands() {
+        return ageBands;
+    }
+
+    public void setAgeBands(List<AgeBand> ageBands) {
+        this.ageBands = ageBands;
+    }
+}
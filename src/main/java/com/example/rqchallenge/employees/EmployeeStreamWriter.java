@@ -0,0 +1,120 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Writes the roster to a response one employee at a time, as NDJSON or as a JSON array.
+ * <p>
+ * A roster that the cache can serve without a fetch is written from memory, one page of materialized employees at a
+ * time so that the roster lock is never held while writing to the client. Otherwise the upstream listing is parsed
+ * incrementally and each employee is written as soon as it is read, so memory stays bounded by the page rather than
+ * the roster. Pages are selected with a cursor, the id of the last employee of the previous page in upstream order.
+ * A cursor deleted in the meantime still resumes after its position, see {@link Roster#getPage(Integer, int)}; the
+ * upstream listing no longer has that position, so there the page starts at the first employee with a greater id.
+ */
+@Component
+public class EmployeeStreamWriter {
+    private static final int FLUSH_EVERY = 256;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private DummyService dummyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * @param out    the response body.
+     * @param ndjson whether to write one employee per line instead of a JSON array.
+     * @param cursor id of the employee after which the page starts, or null to start at the beginning.
+     * @param limit  maximum number of employees to write, or null for all.
+     */
+    public void write(OutputStream out, boolean ndjson, Integer cursor, Integer limit) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+            Roster roster = rosterCache.peek();
+            try {
+                if (roster != null) {
+                    writeFromRoster(roster, new PageWriter(generator, ndjson, null, limit), cursor);
+                } else {
+                    dummyService.streamEmployees(new PageWriter(generator, ndjson, cursor, limit));
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    private static void writeFromRoster(Roster roster, PageWriter page, Integer cursor) {
+        List<Employee> chunk = roster.getPage(cursor, FLUSH_EVERY);
+        while (!chunk.isEmpty()) {
+            for (Employee employee : chunk) {
+                if (!page.test(employee)) {
+                    return;
+                }
+            }
+            chunk = roster.getPage(chunk.get(chunk.size() - 1).getId(), FLUSH_EVERY);
+        }
+    }
+
+    /**
+     * Skips employees up to and including the cursor, or up to the first with a greater id when the cursor is not
+     * listed, then writes until the limit is reached.
+     */
+    private static final class PageWriter implements Predicate<Employee> {
+        private final JsonGenerator generator;
+        private final boolean ndjson;
+        private final Integer cursor;
+        private final int limit;
+        private boolean started;
+        private int written;
+
+        private PageWriter(JsonGenerator generator, boolean ndjson, Integer cursor, Integer limit) {
+            this.generator = generator;
+            this.ndjson = ndjson;
+            this.cursor = cursor;
+            this.limit = limit == null ? Integer.MAX_VALUE : limit;
+            this.started = cursor == null;
+        }
+
+        @Override
+        public boolean test(Employee employee) {
+            if (!started) {
+                started = employee.getId() >= cursor;
+                if (employee.getId() <= cursor) {
+                    return true;
+                }
+            }
+            try {
+                generator.writeObject(employee);
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return written < limit;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.rqchallenge.employees;
+
+import java.util.Arrays;
+
+/**
+ * Decides when a call to one upstream route is hedged with a second, identical request.
+ * <p>
+ * The latencies of the route's recent calls are kept in a fixed window, and a call still outstanding after the
+ * configured percentile of them is hedged. The percentile is recomputed every {@link #RECOMPUTE_EVERY} samples rather
+ * than per call. Hedges are paid from a budget: every call earns the configured fraction of a hedge, up to a small
+ * reserve, so hedges stay within that fraction of the route's calls even while the upstream is slow across the board.
+ */
+public class HedgePolicy {
+    static final int RECOMPUTE_EVERY = 50;
+    // the budget is kept in hundredths of a hedge, so whole percentages add up exactly
+    private static final double HEDGE_COST = 100;
+    private static final double MAX_BUDGET = 10 * HEDGE_COST;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final int minSamples;
+    private final double budgetPercent;
+    private final long[] window;
+    private int samples;
+    private int next;
+    private int sinceRecompute;
+    private long thresholdNanos = -1;
+    private double budget;
+
+    /**
+     * @param percentile    latency percentile after which a call is hedged, between 0 and 100.
+     * @param minDelayNanos shortest wait before hedging, whatever the percentile.
+     * @param minSamples    calls to observe before hedging at all.
+     * @param windowSize    number of recent calls the percentile is taken over.
+     * @param budgetPercent hedges allowed per 100 calls.
+     */
+    public HedgePolicy(double percentile, long minDelayNanos, int minSamples, int windowSize, double budgetPercent) {
+        this.percentile = percentile;
+        this.minDelayNanos = minDelayNanos;
+        this.minSamples = Math.max(1, Math.min(minSamples, windowSize));
+        this.window = new long[windowSize];
+        this.budgetPercent = budgetPercent;
+    }
+
+    /**
+     * Records the latency of a completed call.
+     */
+    public synchronized void record(long latencyNanos) {
+        window[next] = latencyNanos;
+        next = (next + 1) % window.length;
+        samples = Math.min(samples + 1, window.length);
+        if (++sinceRecompute >= RECOMPUTE_EVERY || thresholdNanos < 0 && samples >= minSamples) {
+            long[] sorted = Arrays.copyOf(window, samples);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * samples) - 1;
+            thresholdNanos = sorted[Math.max(0, Math.min(rank, samples - 1))];
+            sinceRecompute = 0;
+        }
+    }
+
+    /**
+     * Counts a call towards the hedge budget.
+     *
+     * @return how long to wait for the call before hedging it, or -1 while too few calls have been observed.
+     */
+    public synchronized long onCall() {
+        budget = Math.min(MAX_BUDGET, budget + budgetPercent);
+        return thresholdNanos < 0 ? -1 : Math.max(thresholdNanos, minDelayNanos);
+    }
+
+    /**
+     * @return whether the budget allows a hedge; when it does, the hedge is paid for.
+     */
+    public synchronized boolean tryAcquireHedge() {
+        if (budget < HEDGE_COST) {
+            return false;
+        }
+        budget -= HEDGE_COST;
+        return true;
+    }
+}
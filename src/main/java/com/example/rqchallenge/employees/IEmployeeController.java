@@ -1,34 +1,81 @@
 package com.example.rqchallenge.employees;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 public interface IEmployeeController {
 
-    @GetMapping()
-    ResponseEntity<List<Employee>> getAllEmployees() throws IOException;
+    // ids selects getEmployeesByIds, cursor streamEmployeesAfter, any range or paging parameter findEmployees
+    @GetMapping(params = {"!ids", "!cursor", "!minSalary", "!maxSalary", "!minAge", "!maxAge", "!sort", "!order", "!limit",
+            "!offset"})
+    CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() throws IOException;
+
+    @GetMapping(params = {"!ids", "!cursor"})
+    CompletableFuture<ResponseEntity<List<Employee>>> findEmployees(@RequestParam(required = false) Integer minSalary,
+                                                                    @RequestParam(required = false) Integer maxSalary,
+                                                                    @RequestParam(required = false) Integer minAge,
+                                                                    @RequestParam(required = false) Integer maxAge,
+                                                                    @RequestParam(defaultValue = "salary") String sort,
+                                                                    @RequestParam(defaultValue = "asc") String order,
+                                                                    @RequestParam(required = false) Integer limit,
+                                                                    @RequestParam(defaultValue = "0") int offset);
+
+    @GetMapping(params = "ids")
+    CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByIds(@RequestParam List<String> ids);
+
+    @GetMapping("/stream")
+    ResponseEntity<StreamingResponseBody> streamAllEmployees(@RequestParam(required = false) Integer cursor,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(defaultValue = "ndjson") String format);
+
+    @GetMapping(params = {"cursor", "!ids"})
+    ResponseEntity<StreamingResponseBody> streamEmployeesAfter(@RequestParam int cursor,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               @RequestParam(defaultValue = "ndjson") String format);
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId);
 
     @GetMapping("/search/{searchString}")
-    ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString);
+    CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString,
+                                                                               @RequestParam(defaultValue = "contains") String mode,
+                                                                               @RequestParam(required = false) Integer limit);
 
     @GetMapping("/{id}")
-    ResponseEntity<Employee> getEmployeeById(@PathVariable String id);
+    CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id);
 
     @GetMapping("/highestSalary")
-    ResponseEntity<Integer> getHighestSalaryOfEmployees();
+    CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees();
+
+    @GetMapping("/stats")
+    CompletableFuture<ResponseEntity<EmployeeStats>> getEmployeeStats();
 
     @GetMapping("/topTenHighestEarningEmployeeNames")
-    ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames();
+    CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames();
+
+    @GetMapping("/topHighestEarningEmployeeNames")
+    CompletableFuture<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNames(@RequestParam(defaultValue = "10") int limit);
 
     @PostMapping()
-    ResponseEntity<Employee> createEmployee(@RequestBody Map<String, Object> employeeInput);
+    CompletableFuture<ResponseEntity<Employee>> createEmployee(@RequestBody Map<String, Object> employeeInput);
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    CompletableFuture<ResponseEntity<List<BatchItemResult>>> createEmployees(InputStream employeeInputs);
 
     @DeleteMapping("/{id}")
-    ResponseEntity<String> deleteEmployeeById(@PathVariable String id);
+    CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id);
+
+    @GetMapping("/{id}/deletion")
+    ResponseEntity<DeletionStatus> getDeletionStatus(@PathVariable String id);
 
 }
@@ -0,0 +1,44 @@
+package com.example.rqchallenge.employees;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link RosterEventBus} between instances running in the same JVM, such as several application contexts in a test.
+ * Instances on the same channel receive each other's events, synchronously on the publishing thread.
+ */
+public class InProcessRosterEventBus implements RosterEventBus {
+    private static final Map<String, Set<InProcessRosterEventBus>> channels = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private volatile Consumer<RosterEvent> listener;
+
+    public InProcessRosterEventBus(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(Consumer<RosterEvent> listener) {
+        this.listener = listener;
+        channels.computeIfAbsent(channel, name -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void publish(RosterEvent event) {
+        for (InProcessRosterEventBus peer : channels.getOrDefault(channel, Set.of())) {
+            if (peer != this) {
+                peer.listener.accept(event);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        channels.computeIfPresent(channel, (name, members) -> {
+            members.remove(this);
+            return members.isEmpty() ? null : members;
+        });
+    }
+}
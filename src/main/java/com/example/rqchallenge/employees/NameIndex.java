@@ -0,0 +1,269 @@
+package com.example.rqchallenge.employees;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Case-insensitive name search over employee ids.
+ * <p>
+ * Substring queries of three or more characters go through a trigram inverted index: the candidates
+ * are the ids present in the posting lists of every trigram of the query, and only those candidates
+ * are checked against the full name. Prefix queries binary-search an array of ids sorted by name.
+ * The index holds no names itself; it looks them up through the function it is given, so names are
+ * stored once, in the roster. Both structures are patched in place when employees are added or
+ * removed, and a name must still be resolvable while its id is being removed. The index is not
+ * thread-safe; {@link Roster} guards it with its lock.
+ */
+public class NameIndex {
+    private static final int GRAM = 3;
+
+    private final IntFunction<String> names;
+    private final Map<Long, Postings> postingsByTrigram = new HashMap<>();
+    private int[] idsByName = new int[16];
+    private int size;
+
+    /**
+     * @param names looks up the name of an indexed id.
+     */
+    public NameIndex(IntFunction<String> names) {
+        this.names = names;
+    }
+
+    public static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Bulk-loads an empty index, sorting once instead of inserting one id at a time.
+     *
+     * @param ids   ids to index, each with the name at the same position.
+     * @param names names of the ids; null names are not indexed.
+     */
+    public void addAll(int[] ids, String[] names) {
+        List<NamedId> sorted = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (names[i] != null) {
+                String normalized = normalize(names[i]);
+                addTrigrams(ids[i], normalized);
+                sorted.add(new NamedId(normalized, ids[i]));
+            }
+        }
+        sorted.sort(null);
+        idsByName = new int[Math.max(16, sorted.size())];
+        for (NamedId namedId : sorted) {
+            idsByName[size++] = namedId.id;
+        }
+    }
+
+    public void add(int id, String name) {
+        if (name == null) {
+            return;
+        }
+        String normalized = normalize(name);
+        addTrigrams(id, normalized);
+        int position = upperBound(normalized);
+        if (size == idsByName.length) {
+            idsByName = Arrays.copyOf(idsByName, size * 2);
+        }
+        System.arraycopy(idsByName, position, idsByName, position + 1, size - position);
+        idsByName[position] = id;
+        size++;
+    }
+
+    /**
+     * @param name the name the id was indexed under.
+     */
+    public void remove(int id, String name) {
+        if (name == null) {
+            return;
+        }
+        String normalized = normalize(name);
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            Long key = trigram(normalized, i);
+            Postings postings = postingsByTrigram.get(key);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                postingsByTrigram.remove(key);
+            }
+        }
+        for (int position = lowerBound(normalized); position < size; position++) {
+            if (idsByName[position] == id) {
+                System.arraycopy(idsByName, position + 1, idsByName, position, size - position - 1);
+                size--;
+                return;
+            }
+            if (!normalizedName(position).equals(normalized)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param query the substring to look for, in any case.
+     * @param limit maximum number of ids to return.
+     * @return ids of employees whose name contains the query, in ascending id order for indexed queries
+     * and in name order for queries too short to index.
+     */
+    public List<Integer> findContaining(String query, int limit) {
+        String normalized = normalize(query);
+        List<Integer> result = new ArrayList<>();
+        if (normalized.length() < GRAM) {
+            // too short for a trigram lookup, fall back to a bounded scan
+            for (int position = 0; position < size && result.size() < limit; position++) {
+                if (normalizedName(position).contains(normalized)) {
+                    result.add(idsByName[position]);
+                }
+            }
+            return result;
+        }
+
+        Postings[] lists = new Postings[normalized.length() - GRAM + 1];
+        for (int i = 0; i < lists.length; i++) {
+            Postings postings = postingsByTrigram.get(trigram(normalized, i));
+            if (postings == null) {
+                return result;
+            }
+            lists[i] = postings;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        Postings smallest = lists[0];
+        for (int i = 0; i < smallest.size && result.size() < limit; i++) {
+            int id = smallest.ids[i];
+            if (inAll(lists, id) && normalize(names.apply(id)).contains(normalized)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param prefix the name prefix to look for, in any case.
+     * @param limit  maximum number of ids to return.
+     * @return ids of employees whose name starts with the prefix, in name order.
+     */
+    public List<Integer> findByPrefix(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        List<Integer> result = new ArrayList<>();
+        for (int position = lowerBound(normalized); position < size && result.size() < limit; position++) {
+            if (!normalizedName(position).startsWith(normalized)) {
+                break;
+            }
+            result.add(idsByName[position]);
+        }
+        return result;
+    }
+
+    private void addTrigrams(int id, String normalized) {
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            postingsByTrigram.computeIfAbsent(trigram(normalized, i), key -> new Postings()).add(id);
+        }
+    }
+
+    private String normalizedName(int position) {
+        return normalize(names.apply(idsByName[position]));
+    }
+
+    /**
+     * @return the first position whose name is not less than the given one.
+     */
+    private int lowerBound(String normalized) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (normalizedName(middle).compareTo(normalized) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the first position whose name is greater than the given one.
+     */
+    private int upperBound(String normalized) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (normalizedName(middle).compareTo(normalized) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static boolean inAll(Postings[] lists, int id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static final class NamedId implements Comparable<NamedId> {
+        private final String name;
+        private final int id;
+
+        private NamedId(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(NamedId other) {
+            int byName = name.compareTo(other.name);
+            return byName != 0 ? byName : Integer.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free list of ids.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
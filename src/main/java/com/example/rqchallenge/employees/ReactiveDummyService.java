@@ -0,0 +1,88 @@
+package com.example.rqchallenge.employees;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+
+/**
+ * Non-blocking counterpart of {@link DummyService}, built on WebClient over a pooled Reactor Netty client.
+ * Uses the same upstream.http.* pool and timeout settings as the blocking client.
+ */
+@Service
+public class ReactiveDummyService {
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Value("${upstream.base-url:https://dummy.restapiexample.com/}")
+    private String baseUrl;
+
+    @Value("${upstream.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${upstream.http.keep-alive-ms:30000}")
+    private long keepAliveMillis;
+
+    @Value("${upstream.http.connect-timeout-ms:2000}")
+    private int connectTimeoutMillis;
+
+    @Value("${upstream.http.read-timeout-ms:5000}")
+    private long readTimeoutMillis;
+
+    @Value("${upstream.http.pool-acquire-timeout-ms:1000}")
+    private long poolAcquireTimeoutMillis;
+
+    @Value("${upstream.http.gzip:true}")
+    private boolean gzip;
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @PostConstruct
+    void init() {
+        connectionProvider = ConnectionProvider.builder("upstream")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofMillis(keepAliveMillis))
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMillis))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(readTimeoutMillis))
+                .compress(gzip);
+        webClient = webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    public Mono<ResponseEntity<EmployeeListResponse>> getEmployees() {
+        return webClient.get().uri("/api/v1/employees").retrieve().toEntity(EmployeeListResponse.class);
+    }
+
+    public Mono<ResponseEntity<EmployeeResponse>> getEmployeeById(String id) {
+        return webClient.get().uri("/api/v1/employee/{id}", id).retrieve().toEntity(EmployeeResponse.class);
+    }
+
+    public Mono<ResponseEntity<EmployeeResponse>> createEmployee(Employee employee) {
+        return webClient.post().uri("/api/v1/create").bodyValue(employee).retrieve().toEntity(EmployeeResponse.class);
+    }
+
+    public Mono<Void> deleteEmployee(String id) {
+        return webClient.delete().uri("/api/v1/delete/{id}", id).retrieve().toBodilessEntity().then();
+    }
+}
@@ -0,0 +1,428 @@
+package com.example.rqchallenge.employees;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Local read state for one roster snapshot.
+ * <p>
+ * Built once from the upstream listing and patched in place by local creates and deletes. Employees are
+ * held in {@link EmployeeColumns} and only materialized as {@link Employee} objects for the rows a query
+ * returns. Derived structures are maintained alongside the columns so that queries never copy or sort
+ * the roster. All access is guarded by a read/write lock.
+ */
+public class Roster {
+    private static final int[] SALARY_PERCENTILES = {25, 50, 75, 90, 95, 99};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final EmployeeColumns columns;
+    private final SortedKeyIndex salaryIndex;
+    private final SortedKeyIndex ageIndex;
+    private final NameIndex nameIndex = new NameIndex(this::nameOf);
+    private final SalaryHistograms histograms = new SalaryHistograms();
+    private volatile long version;
+
+    public Roster(List<Employee> employees) {
+        columns = new EmployeeColumns(employees.size());
+        for (Employee employee : employees) {
+            columns.put(employee);
+        }
+        int size = columns.size();
+        salaryIndex = new SortedKeyIndex(size);
+        ageIndex = new SortedKeyIndex(size);
+        int[] ids = new int[size];
+        String[] names = new String[size];
+        for (int row = 0; row < size; row++) {
+            salaryIndex.append(columns.getSalary(row), columns.getId(row));
+            ageIndex.append(columns.getAge(row), columns.getId(row));
+            histograms.add(columns.getAge(row), columns.getSalary(row));
+            ids[row] = columns.getId(row);
+            names[row] = columns.getName(row);
+        }
+        salaryIndex.sort();
+        ageIndex.sort();
+        nameIndex.addAll(ids, names);
+    }
+
+    /**
+     * @return a counter bumped by every change, so that anything derived from this roster can tell it is outdated.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return an unmodifiable list of all employees in upstream order.
+     */
+    public List<Employee> getEmployees() {
+        lock.readLock().lock();
+        try {
+            List<Employee> employees = new ArrayList<>(columns.size());
+            for (int row = 0; row < columns.rowCount(); row++) {
+                if (columns.isLive(row)) {
+                    employees.add(columns.materialize(row));
+                }
+            }
+            return Collections.unmodifiableList(employees);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A cursor that is no longer in the roster, typically because the employee was deleted while a client paged
+     * through, still marks a position: the page starts after the row the employee held, or, once that row has been
+     * compacted away, at the first employee with a greater id, since upstream ids grow in upstream order.
+     *
+     * @param cursor id of the employee after which the page starts, or null to start at the beginning.
+     * @param limit  maximum number of employees to return.
+     * @return the next employees in upstream order, empty only at the end of the roster.
+     */
+    public List<Employee> getPage(Integer cursor, int limit) {
+        lock.readLock().lock();
+        try {
+            int start = cursor == null ? 0 : rowAfter(cursor);
+            List<Employee> page = new ArrayList<>(Math.min(limit, columns.size()));
+            for (int row = start; row < columns.rowCount() && page.size() < limit; row++) {
+                if (columns.isLive(row)) {
+                    page.add(columns.materialize(row));
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int rowAfter(int cursor) {
+        int row = columns.rowOf(cursor);
+        if (row < 0) {
+            row = columns.deletedRowOf(cursor);
+        }
+        if (row >= 0) {
+            return row + 1;
+        }
+        for (row = 0; row < columns.rowCount(); row++) {
+            if (columns.isLive(row) && columns.getId(row) > cursor) {
+                return row;
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Walks the differences from an earlier roster field by field, materializing only the employees that changed.
+     *
+     * @param upserted called with each employee that is new or changed, and whether the earlier roster held it.
+     * @param deleted  called with the id of each employee the earlier roster held and this one does not.
+     */
+    public void diffFrom(Roster previous, BiConsumer<Employee, Boolean> upserted, IntConsumer deleted) {
+        lock.readLock().lock();
+        previous.lock.readLock().lock();
+        try {
+            EmployeeColumns before = previous.columns;
+            for (int row = 0; row < columns.rowCount(); row++) {
+                if (!columns.isLive(row)) {
+                    continue;
+                }
+                int beforeRow = before.rowOf(columns.getId(row));
+                if (beforeRow < 0 || !columns.sameFields(row, before, beforeRow)) {
+                    upserted.accept(columns.materialize(row), beforeRow >= 0);
+                }
+            }
+            for (int row = 0; row < before.rowCount(); row++) {
+                if (before.isLive(row) && columns.rowOf(before.getId(row)) < 0) {
+                    deleted.accept(before.getId(row));
+                }
+            }
+        } finally {
+            previous.lock.readLock().unlock();
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return a copy of the employee columns as they are now, which later changes to the roster leave alone.
+     */
+    public EmployeeColumns copyColumns() {
+        lock.readLock().lock();
+        try {
+            return columns.copy();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the employee with this id, or null when it is not in the roster.
+     */
+    public Employee getEmployee(int id) {
+        lock.readLock().lock();
+        try {
+            int row = columns.rowOf(id);
+            return row < 0 ? null : columns.materialize(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the approximate heap size of the employee columns in bytes, excluding the search indexes.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return columns.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the highest salary in the roster, or 0 when it is empty.
+     */
+    public int getHighestSalary() {
+        lock.readLock().lock();
+        try {
+            int size = salaryIndex.size();
+            return size == 0 ? 0 : SortedKeyIndex.keyOf(salaryIndex.get(size - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param limit maximum number of names to return.
+     * @return names of the highest-earning employees, highest salary first.
+     */
+    public List<String> getTopEarnerNames(int limit) {
+        lock.readLock().lock();
+        try {
+            int count = Math.min(limit, salaryIndex.size());
+            List<String> names = new ArrayList<>(count);
+            for (int rank = salaryIndex.size() - 1; names.size() < count; rank--) {
+                names.add(nameOf(SortedKeyIndex.idOf(salaryIndex.get(rank))));
+            }
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Salary statistics, read from the sorted salary index and the incrementally maintained histograms, so the cost
+     * does not depend on the number of employees. Percentiles use the nearest-rank method.
+     *
+     * @return statistics of the current salaries, overall and per age band.
+     */
+    public EmployeeStats getStats() {
+        lock.readLock().lock();
+        try {
+            int count = salaryIndex.size();
+            EmployeeStats stats = new EmployeeStats();
+            stats.setCount(count);
+            Map<String, Integer> percentiles = new LinkedHashMap<>();
+            if (count > 0) {
+                stats.setMeanSalary((double) histograms.getSalarySum() / count);
+                stats.setMinSalary(SortedKeyIndex.keyOf(salaryIndex.get(0)));
+                stats.setMaxSalary(SortedKeyIndex.keyOf(salaryIndex.get(count - 1)));
+                for (int percentile : SALARY_PERCENTILES) {
+                    int rank = (int) Math.ceil(percentile / 100.0 * count) - 1;
+                    percentiles.put("p" + percentile, SortedKeyIndex.keyOf(salaryIndex.get(Math.max(rank, 0))));
+                }
+                stats.setMedianSalary(percentiles.get("p50"));
+            }
+            stats.setSalaryPercentiles(percentiles);
+            stats.setSalaryBucketWidth(SalaryHistograms.SALARY_BUCKET_WIDTH);
+            List<EmployeeStats.AgeBand> bands = new ArrayList<>(SalaryHistograms.AGE_BANDS);
+            for (int band = 0; band < SalaryHistograms.AGE_BANDS; band++) {
+                int bandCount = histograms.getBandCount(band);
+                List<Integer> histogram = new ArrayList<>(SalaryHistograms.SALARY_BUCKETS);
+                for (int bucket = 0; bucket < SalaryHistograms.SALARY_BUCKETS; bucket++) {
+                    histogram.add(histograms.getCount(band, bucket));
+                }
+                int minAge = band * SalaryHistograms.AGE_BAND_WIDTH;
+                Integer maxAge = band == SalaryHistograms.AGE_BANDS - 1 ? null : minAge + SalaryHistograms.AGE_BAND_WIDTH - 1;
+                double mean = bandCount == 0 ? 0 : (double) histograms.getBandSalarySum(band) / bandCount;
+                bands.add(new EmployeeStats.AgeBand(minAge, maxAge, bandCount, mean, histogram));
+            }
+            stats.setAgeBands(bands);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds employees within a salary and an age range, ordered by salary or age with ties broken by id.
+     * <p>
+     * The index of the sort key locates the range of that key by binary search and is walked from the requested
+     * end, so a page costs O(log n + limit) when only the sort key is bounded. A bound on the other key is checked
+     * per entry walked, and the offset then counts matching entries.
+     *
+     * @param minSalary  lowest salary to include.
+     * @param maxSalary  highest salary to include.
+     * @param minAge     lowest age to include.
+     * @param maxAge     highest age to include.
+     * @param byAge      true to order by age, false to order by salary.
+     * @param descending true for highest first.
+     * @param offset     number of matching employees to skip.
+     * @param limit      maximum number of employees to return.
+     * @return one page of the matching employees.
+     */
+    public List<Employee> findInRange(int minSalary, int maxSalary, int minAge, int maxAge,
+                                      boolean byAge, boolean descending, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            SortedKeyIndex index = byAge ? ageIndex : salaryIndex;
+            int from = index.lowerBound(byAge ? minAge : minSalary);
+            int to = index.upperBound(byAge ? maxAge : maxSalary);
+            int otherMin = byAge ? minSalary : minAge;
+            int otherMax = byAge ? maxSalary : maxAge;
+            boolean otherBounded = otherMin != Integer.MIN_VALUE || otherMax != Integer.MAX_VALUE;
+            List<Employee> page = new ArrayList<>(Math.max(0, Math.min(limit, to - from - offset)));
+            if (!otherBounded) {
+                // every entry in the range matches, so the offset is skipped by rank
+                for (int i = offset; i < to - from && page.size() < limit; i++) {
+                    int id = SortedKeyIndex.idOf(index.get(descending ? to - 1 - i : from + i));
+                    page.add(columns.materialize(columns.rowOf(id)));
+                }
+                return page;
+            }
+            int skipped = 0;
+            for (int i = 0; i < to - from && page.size() < limit; i++) {
+                int id = SortedKeyIndex.idOf(index.get(descending ? to - 1 - i : from + i));
+                int row = columns.rowOf(id);
+                int other = byAge ? columns.getSalary(row) : columns.getAge(row);
+                if (other < otherMin || other > otherMax) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    page.add(columns.materialize(row));
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param query the substring to look for, in any case.
+     * @param limit maximum number of employees to return.
+     * @return employees whose name contains the query.
+     */
+    public List<Employee> findByNameContaining(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return resolve(nameIndex.findContaining(query, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param prefix the name prefix to look for, in any case.
+     * @param limit  maximum number of employees to return.
+     * @return employees whose name starts with the prefix, in name order.
+     */
+    public List<Employee> findByNamePrefix(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return resolve(nameIndex.findByPrefix(prefix, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an employee, replacing any existing employee with the same id.
+     */
+    public void add(Employee employee) {
+        addAll(Collections.singletonList(employee));
+    }
+
+    /**
+     * Adds employees under a single write lock, replacing any existing employees with the same ids.
+     */
+    public void addAll(List<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            for (Employee employee : employees) {
+                put(employee);
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the removed employee, or null when the id is not in the roster.
+     */
+    public Employee remove(int id) {
+        lock.writeLock().lock();
+        try {
+            int row = columns.rowOf(id);
+            if (row < 0) {
+                return null;
+            }
+            Employee removed = columns.materialize(row);
+            salaryIndex.remove(removed.getEmployee_salary(), id);
+            ageIndex.remove(removed.getEmployee_age(), id);
+            histograms.remove(removed.getEmployee_age(), removed.getEmployee_salary());
+            nameIndex.remove(id, removed.getEmployee_name());
+            columns.remove(id);
+            version++;
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Employee employee) {
+        int row = columns.rowOf(employee.getId());
+        if (row >= 0) {
+            salaryIndex.remove(columns.getSalary(row), employee.getId());
+            ageIndex.remove(columns.getAge(row), employee.getId());
+            histograms.remove(columns.getAge(row), columns.getSalary(row));
+            nameIndex.remove(employee.getId(), columns.getName(row));
+        }
+        columns.put(employee);
+        salaryIndex.add(employee.getEmployee_salary(), employee.getId());
+        ageIndex.add(employee.getEmployee_age(), employee.getId());
+        histograms.add(employee.getEmployee_age(), employee.getEmployee_salary());
+        nameIndex.add(employee.getId(), employee.getEmployee_name());
+    }
+
+    private String nameOf(int id) {
+        int row = columns.rowOf(id);
+        return row < 0 ? null : columns.getName(row);
+    }
+
+    private List<Employee> resolve(List<Integer> ids) {
+        List<Employee> employees = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            employees.add(columns.materialize(columns.rowOf(id)));
+        }
+        return employees;
+    }
+}
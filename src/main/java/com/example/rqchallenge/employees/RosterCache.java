@@ -0,0 +1,413 @@
+package com.example.rqchallenge.employees;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read-through cache for the upstream employee roster.
+ * <p>
+ * A roster younger than the TTL is served as is. Once it is older than the TTL but still inside the
+ * stale-while-revalidate window it keeps being served while a refresh runs in the background. Past
+ * that window callers wait for a fresh copy. If that fetch fails, an older roster is served rather
+ * than an error while {@code roster.cache.stale-if-error} is on. Concurrent refreshes are collapsed
+ * into a single in-flight upstream fetch.
+ * <p>
+ * When a {@link RosterStore} is configured, every fetched roster is persisted and local creates and
+ * deletes are logged. On startup the persisted roster is served as stale while it is reconciled with
+ * the API in the background.
+ * <p>
+ * A fetched roster may predate local changes made while it was in flight, so it is swapped in only after the employees
+ * created since the fetch started have been added to it and the unsettled deletes removed.
+ * <p>
+ * Local changes and the differences between successive rosters are published on the {@link RosterChangeFeed}.
+ */
+@Component
+public class RosterCache {
+    private static final Logger logger = LoggerFactory.getLogger(RosterCache.class);
+
+    @Autowired
+    private UpstreamClient upstreamClient;
+
+    @Autowired
+    private RosterStore rosterStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RosterChangeFeed changeFeed;
+
+    @Value("${roster.cache.ttl-ms:30000}")
+    private long ttlMillis;
+
+    @Value("${roster.cache.stale-while-revalidate-ms:300000}")
+    private long staleWhileRevalidateMillis;
+
+    @Value("${roster.cache.stale-if-error:true}")
+    private boolean staleIfError;
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    // ids deleted locally whose delete has not been verified upstream yet, kept out of refreshed rosters
+    private final Set<Integer> unsettledDeletes = ConcurrentHashMap.newKeySet();
+    private volatile Snapshot current;
+    // orders local changes against snapshot writes, so that truncating the change log loses none of them
+    private final Object changeLock = new Object();
+    // employees created locally since the in-flight fetch started, guarded by changeLock; null when none is in flight
+    private Map<Integer, Employee> createdDuringFetch;
+
+    @PostConstruct
+    void warmStart() {
+        Roster persisted = rosterStore.load();
+        if (persisted != null) {
+            current = new Snapshot(persisted, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+            refresh(true);
+        }
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("roster.employees", this, cache -> {
+            Roster roster = cache.peekStale();
+            return roster == null ? 0 : roster.size();
+        }).description("Employees in the cached roster").register(meterRegistry);
+        Gauge.builder("roster.memory", this, cache -> {
+            Roster roster = cache.peekStale();
+            return roster == null ? 0 : roster.estimatedBytes();
+        }).baseUnit("bytes").description("Estimated heap size of the cached roster").register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached roster if it can be served without waiting for the API, starting a background refresh when
+     * it is stale.
+     *
+     * @return the current roster, or null when there is none or it is too old to serve.
+     */
+    public Roster peek() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            return null;
+        }
+        long age = System.nanoTime() - snapshot.loadedAt;
+        if (age < TimeUnit.MILLISECONDS.toNanos(ttlMillis)) {
+            return snapshot.roster;
+        }
+        if (age < TimeUnit.MILLISECONDS.toNanos(ttlMillis + staleWhileRevalidateMillis)) {
+            refresh(true);
+            return snapshot.roster;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cached roster whatever its age, without starting a refresh.
+     *
+     * @return the last loaded roster, or null when there is none.
+     */
+    public Roster peekStale() {
+        Snapshot snapshot = current;
+        return snapshot == null ? null : snapshot.roster;
+    }
+
+    /**
+     * Returns the cached roster, fetching it from the API when it is missing or too old to serve.
+     *
+     * @return a future completed with the current roster; already complete when the cached roster can be served.
+     */
+    public CompletableFuture<Roster> getRosterAsync() {
+        Roster roster = peek();
+        if (roster != null) {
+            return CompletableFuture.completedFuture(roster);
+        }
+        Snapshot stale = current;
+        CompletableFuture<Roster> fresh = refresh(false).thenApply(loaded -> loaded.roster);
+        if (stale == null || !staleIfError) {
+            return fresh;
+        }
+        return fresh.exceptionally(e -> {
+            logger.warn("Serving employee roster past its stale window after a failed refresh");
+            return stale.roster;
+        });
+    }
+
+    /**
+     * Blocking variant of {@link #getRosterAsync()}.
+     *
+     * @return the current roster.
+     * @throws ResponseStatusException if the roster has to be fetched and the API request fails.
+     */
+    public Roster getRoster() throws ResponseStatusException {
+        try {
+            return getRosterAsync().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns all employees of the cached roster, see {@link #getRoster()}.
+     *
+     * @return an unmodifiable list of all employees.
+     * @throws ResponseStatusException if the roster has to be fetched and the API request fails.
+     */
+    public List<Employee> getEmployees() throws ResponseStatusException {
+        return getRoster().getEmployees();
+    }
+
+    /**
+     * Adds an employee created through the API to the cached roster, if one is loaded.
+     *
+     * @param employee the created employee.
+     */
+    public void applyCreated(Employee employee) {
+        applyCreated(Collections.singletonList(employee));
+    }
+
+    /**
+     * Adds employees created through the API to the cached roster in one step, if one is loaded.
+     *
+     * @param employees the created employees.
+     */
+    public void applyCreated(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        synchronized (changeLock) {
+            Snapshot snapshot = current;
+            for (Employee employee : employees) {
+                changeFeed.publishUpsert(employee, snapshot != null && snapshot.roster.getEmployee(employee.getId()) != null);
+            }
+            if (snapshot != null) {
+                snapshot.roster.addAll(employees);
+            }
+            if (createdDuringFetch != null) {
+                for (Employee employee : employees) {
+                    createdDuringFetch.put(employee.getId(), employee);
+                }
+            }
+            if (rosterStore.appendCreated(employees)) {
+                refreshExecutor.execute(this::compact);
+            }
+        }
+    }
+
+    /**
+     * Removes an employee deleted through the API from the cached roster, if one is loaded. The employee is kept out
+     * of refreshed rosters as well until the delete is settled with {@link #settleDeleted(int)} or
+     * {@link #restore(Employee)}.
+     *
+     * @param id the id of the deleted employee.
+     */
+    public void applyDeleted(String id) {
+        int employeeId;
+        try {
+            employeeId = Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring delete of non-numeric employee id {}", id);
+            return;
+        }
+        synchronized (changeLock) {
+            unsettledDeletes.add(employeeId);
+            Snapshot snapshot = current;
+            if (snapshot != null) {
+                snapshot.roster.remove(employeeId);
+            }
+            if (createdDuringFetch != null) {
+                createdDuringFetch.remove(employeeId);
+            }
+            changeFeed.publishDeleted(employeeId);
+            if (rosterStore.appendDeleted(employeeId)) {
+                refreshExecutor.execute(this::compact);
+            }
+        }
+    }
+
+    /**
+     * Stops keeping a deleted employee out of refreshed rosters, once the delete has been verified or given up on.
+     *
+     * @param id the id of the deleted employee.
+     */
+    public void settleDeleted(int id) {
+        unsettledDeletes.remove(id);
+    }
+
+    /**
+     * Puts back an employee whose delete did not take effect upstream.
+     *
+     * @param employee the employee as the API still lists it.
+     */
+    public void restore(Employee employee) {
+        settleDeleted(employee.getId());
+        applyCreated(employee);
+    }
+
+    /**
+     * Drops the cached roster and any deletes still awaiting verification, so that the next read goes to the API and
+     * is served as the API returns it.
+     */
+    public void invalidate() {
+        synchronized (changeLock) {
+            unsettledDeletes.clear();
+            if (createdDuringFetch != null) {
+                createdDuringFetch.clear();
+            }
+            current = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Folds the change log into a new snapshot of the current roster. Only the copy of the roster is taken under the
+     * change lock; it holds every change logged before the position taken with it.
+     */
+    private void compact() {
+        EmployeeColumns columns;
+        long logPosition;
+        synchronized (changeLock) {
+            Snapshot snapshot = current;
+            if (snapshot == null) {
+                return;
+            }
+            columns = snapshot.roster.copyColumns();
+            logPosition = rosterStore.getLogPosition();
+        }
+        rosterStore.writeSnapshot(columns, logPosition);
+    }
+
+    /**
+     * Joins the in-flight fetch if there is one, otherwise starts a new one.
+     *
+     * @param background whether a newly started fetch runs on the refresh thread instead of the caller.
+     * @return a future completed with the fetched snapshot.
+     */
+    private CompletableFuture<Snapshot> refresh(boolean background) {
+        while (true) {
+            CompletableFuture<Snapshot> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<Snapshot> promise = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, promise)) {
+                if (background) {
+                    refreshExecutor.execute(() -> load(promise));
+                } else {
+                    load(promise);
+                }
+                return promise;
+            }
+        }
+    }
+
+    private void load(CompletableFuture<Snapshot> promise) {
+        synchronized (changeLock) {
+            createdDuringFetch = new LinkedHashMap<>();
+        }
+        CompletableFuture<ResponseEntity<EmployeeListResponse>> response;
+        try {
+            response = upstreamClient.getEmployees();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        // building the indexes of a large roster should not hold up the HTTP client's event loop
+        CompletableFuture<Roster> roster = response.isDone()
+                ? response.thenApply(this::toRoster)
+                : response.thenApplyAsync(this::toRoster, refreshExecutor);
+        roster.whenComplete((loaded, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                logger.error("Failed to refresh employee roster: {}", cause.getMessage());
+                synchronized (changeLock) {
+                    createdDuringFetch = null;
+                }
+                inFlight.compareAndSet(promise, null);
+                promise.completeExceptionally(cause);
+                return;
+            }
+            Snapshot previous;
+            Snapshot snapshot;
+            synchronized (changeLock) {
+                if (createdDuringFetch != null) {
+                    loaded.addAll(new ArrayList<>(createdDuringFetch.values()));
+                    createdDuringFetch = null;
+                }
+                // deletes made after the roster was built
+                for (Integer id : unsettledDeletes) {
+                    loaded.remove(id);
+                }
+                previous = current;
+                snapshot = new Snapshot(loaded, System.nanoTime());
+                current = snapshot;
+                // in the same step as the swap, so that no local change can fall between the two
+                if (previous != null) {
+                    changeFeed.publishDiff(previous.roster, loaded, unsettledDeletes);
+                }
+            }
+            inFlight.compareAndSet(promise, null);
+            logger.info("Refreshed employee roster: {} employees", loaded.size());
+            promise.complete(snapshot);
+            if (rosterStore.needsCompaction()) {
+                refreshExecutor.execute(this::compact);
+            }
+        });
+    }
+
+    private Roster toRoster(ResponseEntity<EmployeeListResponse> responseEntity) throws ResponseStatusException {
+        if (responseEntity.getStatusCode() == HttpStatus.OK && responseEntity.hasBody()) {
+            List<Employee> data = responseEntity.getBody().getData();
+            Roster roster = new Roster(data == null ? Collections.emptyList() : data);
+            for (Integer id : unsettledDeletes) {
+                roster.remove(id);
+            }
+            return roster;
+        }
+        throw new ResponseStatusException(responseEntity.getStatusCode());
+    }
+
+    /**
+     * Roster as fetched at a point in time.
+     */
+    private static final class Snapshot {
+        private final Roster roster;
+        private final long loadedAt;
+
+        private Snapshot(Roster roster, long loadedAt) {
+            this.roster = roster;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
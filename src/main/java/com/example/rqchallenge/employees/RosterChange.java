@@ -0,0 +1,63 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Pojo for one change to the roster, as sent on the change feed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RosterChange {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private long seq;
+    private Type type;
+    private int id;
+    private Employee employee;
+
+    public RosterChange() {
+    }
+
+    public RosterChange(long seq, Type type, int id, Employee employee) {
+        this.seq = seq;
+        this.type = type;
+        this.id = id;
+        this.employee = employee;
+    }
+
+    // Getters and setters
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+}
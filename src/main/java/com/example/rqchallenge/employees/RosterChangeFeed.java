@@ -0,0 +1,382 @@
+package com.example.rqchallenge.employees;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sequenced feed of roster changes, streamed to subscribers as Server-Sent Events.
+ * <p>
+ * Local creates and deletes are published as they are applied, and every refreshed roster is diffed against the one
+ * it replaces. Each change gets the next sequence number, and its SSE event id is that number prefixed with an epoch
+ * drawn at startup, as in {@code k3x9q2-42}. The latest {@code employees.changes.buffer-size} changes are kept so that
+ * a subscriber reconnecting with {@code Last-Event-ID} gets what it missed. A subscriber that fell further behind, or
+ * presents an id of another epoch, such as one from before a restart, or an id never issued, is sent a {@code reset}
+ * event and should reload the full roster. Changes are idempotent upserts and deletes by id.
+ * <p>
+ * Subscribers hold no thread while idle: a dispatcher thread queues pending changes and heartbeat comments for every
+ * subscriber without blocking, and a pool of {@code employees.changes.sender-threads} writes out each subscriber's queue
+ * in order while it has events. A subscriber whose queue of {@code employees.changes.queue-size} events overflows is
+ * sent a {@code reset} in place of its backlog and dropped, and one whose client has not taken a write for
+ * {@code employees.changes.send-timeout-ms} is dropped and its sender thread interrupted, so that a few slow clients
+ * cannot tie up the pool.
+ */
+@Component
+public class RosterChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(RosterChangeFeed.class);
+
+    @Value("${employees.changes.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${employees.changes.queue-size:1000}")
+    private int queueSize;
+
+    @Value("${employees.changes.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${employees.changes.heartbeat-ms:15000}")
+    private long heartbeatMillis;
+
+    @Value("${employees.changes.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${employees.changes.send-timeout-ms:10000}")
+    private long sendTimeoutMillis;
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-changes");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ExecutorService senders;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+    private RosterChange[] buffer;
+    // sequence number of the latest change, guarded by this
+    private long latest;
+
+    @PostConstruct
+    void init() {
+        buffer = new RosterChange[bufferSize];
+        AtomicInteger threads = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "roster-changes-send-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (heartbeatMillis > 0) {
+            dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        }
+        if (sendTimeoutMillis > 0) {
+            long interval = Math.max(1, sendTimeoutMillis / 2);
+            dispatcher.scheduleWithFixedDelay(this::dropStalled, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * @param employee a created or replaced employee.
+     * @param existed  whether the roster held the employee before.
+     */
+    public void publishUpsert(Employee employee, boolean existed) {
+        publish(existed ? RosterChange.Type.UPDATED : RosterChange.Type.CREATED, employee.getId(), employee);
+    }
+
+    public void publishDeleted(int id) {
+        publish(RosterChange.Type.DELETED, id, null);
+    }
+
+    /**
+     * Publishes the differences between two successive rosters on the caller's thread, so that the caller can order
+     * them against its own changes. Rows are compared in place; only changed employees are materialized.
+     *
+     * @param skipped ids left out of the diff, whose changes the caller publishes itself.
+     */
+    public void publishDiff(Roster previous, Roster next, Set<Integer> skipped) {
+        next.diffFrom(previous, (employee, existed) -> {
+            if (!skipped.contains(employee.getId())) {
+                publishUpsert(employee, existed);
+            }
+        }, id -> {
+            if (!skipped.contains(id)) {
+                publishDeleted(id);
+            }
+        });
+    }
+
+    private void publish(RosterChange.Type type, int id, Employee employee) {
+        synchronized (this) {
+            latest++;
+            buffer[(int) (latest % bufferSize)] = new RosterChange(latest, type, id, employee);
+        }
+        scheduleDelivery();
+    }
+
+    /**
+     * @param lastEventId event id of the last change the subscriber has seen, or null to start with the next change.
+     * @return an emitter that streams the changes after {@code lastEventId}.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber;
+        synchronized (this) {
+            subscriber = new Subscriber(emitter, lastEventId == null ? latest : seqOf(lastEventId), queueSize);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        scheduleDelivery();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * @return the sequence number of an event id of this epoch, or -1 for any other id.
+     */
+    private long seqOf(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !epoch.equals(eventId.substring(0, dash))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    /**
+     * @return the changes after {@code seq} in order, or null when some of them are no longer buffered or {@code seq}
+     * was never issued.
+     */
+    private synchronized List<RosterChange> changesAfter(long seq) {
+        if (seq < 0 || seq > latest || seq < latest - bufferSize) {
+            return null;
+        }
+        if (seq == latest) {
+            return Collections.emptyList();
+        }
+        List<RosterChange> changes = new ArrayList<>((int) (latest - seq));
+        for (long next = seq + 1; next <= latest; next++) {
+            changes.add(buffer[(int) (next % bufferSize)]);
+        }
+        return changes;
+    }
+
+    private synchronized long latest() {
+        return latest;
+    }
+
+    private void scheduleDelivery() {
+        if (deliveryScheduled.compareAndSet(false, true)) {
+            execute(this::deliver);
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Change feed is shut down");
+        }
+    }
+
+    private void deliver() {
+        deliveryScheduled.set(false);
+        for (Subscriber subscriber : subscribers) {
+            List<RosterChange> changes = changesAfter(subscriber.queued);
+            if (changes == null) {
+                long reset = latest();
+                if (enqueue(subscriber, reset(reset))) {
+                    subscriber.queued = reset;
+                }
+                continue;
+            }
+            for (RosterChange change : changes) {
+                SseEmitter.SseEventBuilder event = SseEmitter.event()
+                        .id(eventId(change.getSeq()))
+                        .name(change.getType().name().toLowerCase())
+                        .data(change);
+                if (!enqueue(subscriber, event)) {
+                    break;
+                }
+                subscriber.queued = change.getSeq();
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    /**
+     * Drops the subscribers whose client has not taken the event being written for longer than the send timeout. The
+     * emitter is completed by the interrupted sender once its write returns, since completing it here would wait for
+     * the stalled write.
+     */
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStarted;
+            if (started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis)) {
+                logger.warn("Dropping change feed subscriber whose write stalled for over {} ms", sendTimeoutMillis);
+                subscribers.remove(subscriber);
+                subscriber.queue.clear();
+                subscriber.closing = true;
+                synchronized (subscriber) {
+                    if (subscriber.sender != null) {
+                        subscriber.sender.interrupt();
+                    }
+                }
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder reset(long seq) {
+        return SseEmitter.event().id(eventId(seq)).name("reset").data(seq);
+    }
+
+    /**
+     * Queues an event for a subscriber without blocking, replacing its backlog with a reset and dropping it when its
+     * queue is full.
+     *
+     * @return whether the event was queued.
+     */
+    private boolean enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            logger.warn("Dropping change feed subscriber that fell {} events behind", queueSize);
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            subscriber.queue.offer(reset(latest()));
+            subscriber.closing = true;
+            scheduleSend(subscriber);
+            return false;
+        }
+        scheduleSend(subscriber);
+        return true;
+    }
+
+    private void scheduleSend(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> send(subscriber));
+            } catch (RejectedExecutionException e) {
+                logger.debug("Change feed is shut down");
+            }
+        }
+    }
+
+    /**
+     * Writes out a subscriber's queue, on a sender thread; may block on a slow client until dropped as stalled.
+     */
+    private void send(Subscriber subscriber) {
+        synchronized (subscriber) {
+            subscriber.sender = Thread.currentThread();
+        }
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                send(subscriber, event);
+            }
+            if (subscriber.closing) {
+                // the reset is queued before closing is set, and may have missed the loop above
+                while ((event = subscriber.queue.poll()) != null) {
+                    send(subscriber, event);
+                }
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+            return;
+        } finally {
+            synchronized (subscriber) {
+                subscriber.sender = null;
+            }
+            // an interrupt meant to unblock a stalled write must not carry over to the next subscriber
+            Thread.interrupted();
+            subscriber.sending.set(false);
+        }
+        // an event queued after the last poll but before the flag was cleared found the flag still set
+        if (!subscriber.queue.isEmpty()) {
+            scheduleSend(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendStarted = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendStarted = 0;
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception e) {
+        logger.debug("Dropping change feed subscriber: {}", e.getMessage());
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        subscriber.emitter.completeWithError(e);
+    }
+
+    /**
+     * One connected subscriber, the sequence number it has been queued up to, which only the dispatcher updates, its
+     * queue of events waiting to be sent, and the thread writing to it, guarded by the subscriber.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long queued;
+        private volatile boolean closing;
+        // System.nanoTime() when the write in progress started, 0 when none is
+        private volatile long sendStarted;
+        private Thread sender;
+
+        private Subscriber(SseEmitter emitter, long queued, int queueSize) {
+            this.emitter = emitter;
+            this.queued = queued;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
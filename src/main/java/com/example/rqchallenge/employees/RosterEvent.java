@@ -0,0 +1,87 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Pojo for a local create or delete, or the outcome of verifying a delete upstream, as sent to the other instances on
+ * the {@link RosterEventBus}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RosterEvent {
+    public enum Type {
+        CREATED,
+        DELETED,
+        // the delete was confirmed or given up on by the instance that made it
+        SETTLED,
+        // the delete did not take effect upstream and the employee is back
+        RESTORED
+    }
+
+    private String origin;
+    private long seq;
+    private long version;
+    private Type type;
+    private int id;
+    private Employee employee;
+
+    public RosterEvent() {
+    }
+
+    public RosterEvent(String origin, long seq, long version, Type type, int id, Employee employee) {
+        this.origin = origin;
+        this.seq = seq;
+        this.version = version;
+        this.type = type;
+        this.id = id;
+        this.employee = employee;
+    }
+
+    // Getters and setters
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.rqchallenge.employees;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link RosterEvent}s between the instances of the service. Delivery is best effort: events may be lost,
+ * duplicated or reordered, and receivers are expected to cope.
+ */
+public interface RosterEventBus extends AutoCloseable {
+    /**
+     * Starts delivering the events published by other instances.
+     *
+     * @param listener called with each event received, on a thread of the bus.
+     */
+    void start(Consumer<RosterEvent> listener);
+
+    /**
+     * Sends an event to the other instances, without waiting for them.
+     *
+     * @throws IllegalArgumentException if the event is too large for the bus to carry.
+     */
+    void publish(RosterEvent event);
+
+    @Override
+    void close();
+}
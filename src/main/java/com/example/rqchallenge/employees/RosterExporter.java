@@ -0,0 +1,104 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the roster to a CSV or NDJSON file.
+ * <p>
+ * The export reads a copy of the roster's columns taken under its read lock, so creates and deletes made while it runs
+ * can neither skip nor cut off employees; the copy costs about 50 bytes per employee. Employees are materialized one at
+ * a time from it and encoded into a buffer that goes to the file's {@link FileChannel} in 64 KiB writes. The export is
+ * written to a temporary file that is forced to disk and, once the number of employees written is checked against the
+ * copy, moved over the target, so readers never see a partial file.
+ */
+@Component
+public class RosterExporter {
+    private static final Logger logger = LoggerFactory.getLogger(RosterExporter.class);
+    private static final int FLUSH_EVERY = 256;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * @param file the file to write, replaced if it exists; its extension selects the format.
+     * @return the number of employees and bytes written.
+     */
+    public Map<String, Object> export(Path file) throws IOException {
+        RosterFileFormat format = RosterFileFormat.of(file);
+        EmployeeColumns columns = rosterCache.getRoster().copyColumns();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        long employees = 0;
+        long bytes;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            JsonGenerator generator = null;
+            StringBuilder csv = null;
+            if (format == RosterFileFormat.NDJSON) {
+                generator = objectMapper.getFactory().createGenerator(out);
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null);
+            } else {
+                csv = new StringBuilder(EmployeeCsv.HEADER).append('\n');
+            }
+            for (int row = 0; row < columns.rowCount(); row++) {
+                if (!columns.isLive(row)) {
+                    continue;
+                }
+                Employee employee = columns.materialize(row);
+                if (generator != null) {
+                    generator.writeObject(employee);
+                    generator.writeRaw('\n');
+                } else {
+                    EmployeeCsv.append(csv, employee);
+                    csv.append('\n');
+                }
+                if (++employees % FLUSH_EVERY == 0 && csv != null) {
+                    out.write(csv.toString().getBytes(StandardCharsets.UTF_8));
+                    csv.setLength(0);
+                }
+            }
+            if (generator != null) {
+                generator.close();
+            } else if (csv.length() > 0) {
+                out.write(csv.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            out.flush();
+            channel.force(false);
+            bytes = channel.size();
+        }
+        if (employees != columns.size()) {
+            Files.deleteIfExists(temporary);
+            throw new IOException("Exported " + employees + " of " + columns.size() + " employees, keeping " + file);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Exported {} employees to {} ({} bytes)", employees, file, bytes);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("file", file.getFileName().toString());
+        result.put("format", format);
+        result.put("employees", employees);
+        result.put("bytes", bytes);
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.rqchallenge.employees;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats of roster exports and imports, told apart by file extension.
+ */
+public enum RosterFileFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * @throws IllegalArgumentException if the file is neither {@code .csv} nor {@code .ndjson} or {@code .jsonl}.
+     */
+    public static RosterFileFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Roster files must end in .csv, .ndjson or .jsonl: " + file.getFileName());
+    }
+}
@@ -0,0 +1,547 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the employees of a CSV or NDJSON file through the upstream API, one import at a time, in the background.
+ * <p>
+ * The file is read record by record through its {@link FileChannel} into a fixed buffer, so memory does not grow with
+ * the file. CSV files need a header naming the {@code employee_name}, {@code employee_salary} and
+ * {@code employee_age} columns (or {@code name}, {@code salary} and {@code age}); NDJSON records take the same keys.
+ * Records without a name or with a negative salary or age are rejected without a request. Valid ones are created with
+ * at most {@code roster.transfer.import-concurrency} requests in flight, reading pausing while all are taken, and
+ * each created employee is applied to the cached roster and replicated as a local create would be. Rejected records
+ * and failed creates are appended, with their record number and the reason, to {@code <file>.rejects}.
+ * <p>
+ * Every {@code roster.transfer.checkpoint-every} records the offset before which every record is done, the offsets of
+ * the records after it that are done as well, and the counts of all done records are written to
+ * {@code <file>.checkpoint}. An import started with {@code resume} continues from that offset and skips the records
+ * already done, so only the records that were in flight when the previous run stopped are created again.
+ */
+@Component
+public class RosterImporter {
+    private static final Logger logger = LoggerFactory.getLogger(RosterImporter.class);
+
+    @Autowired
+    private UpstreamClient upstreamClient;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private RosterReplicator rosterReplicator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${roster.transfer.import-concurrency:8}")
+    private int concurrency;
+
+    @Value("${roster.transfer.checkpoint-every:1000}")
+    private int checkpointEvery;
+
+    @Value("${roster.transfer.max-record-bytes:65536}")
+    private int maxRecordBytes;
+
+    @Value("${roster.transfer.drain-timeout-ms:30000}")
+    private long drainTimeoutMillis;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ExecutorService executor;
+    private Run current;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "roster-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts importing a file.
+     *
+     * @param file   the file to import; its extension selects the format.
+     * @param resume whether to continue from the file's checkpoint, if it has one, rather than from the start.
+     * @return the progress of the import just started.
+     * @throws IllegalStateException if an import is running already.
+     */
+    public synchronized ImportProgress start(Path file, boolean resume) throws IOException {
+        if (current != null && current.state == ImportProgress.State.RUNNING) {
+            throw new IllegalStateException("An import of " + current.file.getFileName() + " is running already");
+        }
+        RosterFileFormat format = RosterFileFormat.of(file);
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(file.toString());
+        }
+        Run run = new Run(file, format);
+        if (resume) {
+            run.restore();
+        } else {
+            Files.deleteIfExists(run.checkpointFile);
+            Files.deleteIfExists(run.rejectsFile);
+        }
+        current = run;
+        runner.execute(run::execute);
+        return run.progress();
+    }
+
+    /**
+     * @return the progress of the running or last import, or null when there was none.
+     */
+    public synchronized ImportProgress getProgress() {
+        return current == null ? null : current.progress();
+    }
+
+    /**
+     * One import; records are read on the runner thread and created on the pool.
+     */
+    private final class Run {
+        private final Path file;
+        private final RosterFileFormat format;
+        private final Path checkpointFile;
+        private final Path rejectsFile;
+        private final Semaphore permits = new Semaphore(concurrency);
+        // start offset of each record being created, to its record number
+        private final ConcurrentSkipListMap<Long, Long> inFlight = new ConcurrentSkipListMap<>();
+        // start offsets of the records done past the oldest one in flight, guarded by this along with the counts
+        private final NavigableSet<Long> done = new TreeSet<>();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile ImportProgress.State state = ImportProgress.State.RUNNING;
+        private volatile String error;
+        private volatile long records;
+        private volatile long checkpointOffset;
+        // offset after the last record read
+        private long readOffset;
+        private Writer rejects;
+
+        private Run(Path file, RosterFileFormat format) {
+            this.file = file;
+            this.format = format;
+            this.checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+            this.rejectsFile = file.resolveSibling(file.getFileName() + ".rejects");
+        }
+
+        private void restore() throws IOException {
+            if (!Files.exists(checkpointFile)) {
+                return;
+            }
+            Properties checkpoint = new Properties();
+            try (Reader in = Files.newBufferedReader(checkpointFile, StandardCharsets.UTF_8)) {
+                checkpoint.load(in);
+            }
+            checkpointOffset = Long.parseLong(checkpoint.getProperty("offset", "0"));
+            records = Long.parseLong(checkpoint.getProperty("records", "0"));
+            created.set(Long.parseLong(checkpoint.getProperty("created", "0")));
+            invalid.set(Long.parseLong(checkpoint.getProperty("invalid", "0")));
+            failed.set(Long.parseLong(checkpoint.getProperty("failed", "0")));
+            for (String offset : checkpoint.getProperty("done", "").split(",")) {
+                if (!offset.isEmpty()) {
+                    done.add(Long.parseLong(offset));
+                }
+            }
+            logger.info("Resuming import of {} after record {}", file, records);
+        }
+
+        private void execute() {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                 BufferedWriter rejectsOut = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8,
+                         StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                rejects = rejectsOut;
+                try {
+                    read(channel);
+                    drain();
+                    checkpoint();
+                    state = ImportProgress.State.COMPLETED;
+                    logger.info("Imported {}: {} records, {} created, {} invalid, {} failed", file, records,
+                            created.get(), invalid.get(), failed.get());
+                } catch (IOException | RuntimeException | InterruptedException e) {
+                    // keep what was done: let the creates in flight finish and record where to resume
+                    awaitInFlight(e instanceof InterruptedException);
+                    try {
+                        checkpoint();
+                    } catch (IOException checkpointError) {
+                        logger.error("Failed to write import checkpoint {}: {}", checkpointFile, checkpointError.getMessage());
+                    }
+                    fail(e);
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void read(FileChannel channel) throws IOException, InterruptedException {
+            RecordReader reader = new RecordReader(channel, format == RosterFileFormat.CSV, maxRecordBytes);
+            Map<String, Integer> columns = null;
+            if (format == RosterFileFormat.CSV) {
+                String header = reader.next();
+                columns = header == null ? null : columns(EmployeeCsv.parse(header));
+            }
+            reader.seek(Math.max(checkpointOffset, reader.getOffset()));
+            readOffset = reader.getOffset();
+            String record;
+            while ((record = reader.next()) != null) {
+                long number = records + 1;
+                if (!isDone(reader.getRecordOffset())) {
+                    submit(number, reader.getRecordOffset(), record, reader.isTruncated(), columns);
+                }
+                records = number;
+                readOffset = reader.getOffset();
+                if (number % checkpointEvery == 0) {
+                    checkpoint();
+                }
+            }
+        }
+
+        private void fail(Exception e) {
+            logger.error("Import of {} failed after record {}: {}", file, records, e.toString());
+            error = e.getMessage();
+            state = ImportProgress.State.FAILED;
+        }
+
+        private void submit(long number, long offset, String record, boolean truncated, Map<String, Integer> columns)
+                throws IOException, InterruptedException {
+            if (record.trim().isEmpty()) {
+                return;
+            }
+            Employee employee;
+            try {
+                if (truncated) {
+                    throw new IllegalArgumentException("record longer than " + maxRecordBytes + " bytes");
+                }
+                employee = format == RosterFileFormat.CSV ? fromCsv(record, columns) : fromJson(record);
+            } catch (IllegalArgumentException e) {
+                synchronized (this) {
+                    invalid.incrementAndGet();
+                    reject(number, e.getMessage(), truncated ? "" : record);
+                    done.add(offset);
+                }
+                return;
+            }
+            permits.acquire();
+            inFlight.put(offset, number);
+            CompletableFuture
+                    .supplyAsync(() -> upstreamClient.createEmployee(employee), executor)
+                    .thenCompose(response -> response)
+                    .whenComplete((response, error) -> {
+                        try {
+                            complete(number, offset, record, response, error);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+        }
+
+        private void complete(long number, long offset, String record, ResponseEntity<EmployeeResponse> response,
+                              Throwable error) {
+            String reason = null;
+            try {
+                if (error == null && response.getStatusCode() == HttpStatus.OK && response.hasBody()
+                        && response.getBody().getData() != null) {
+                    Employee employee = response.getBody().getData();
+                    rosterCache.applyCreated(employee);
+                    rosterReplicator.publishCreated(employee);
+                } else {
+                    reason = error != null ? error.getMessage() : "upstream status " + response.getStatusCodeValue();
+                }
+            } catch (RuntimeException e) {
+                reason = e.toString();
+            }
+            // the count and the record's done mark change together, so that a checkpoint sees both or neither
+            synchronized (this) {
+                if (reason == null) {
+                    created.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                    try {
+                        reject(number, reason, record);
+                    } catch (IOException e) {
+                        logger.error("Failed to record rejected record {} of {}: {}", number, file, e.getMessage());
+                    }
+                }
+                inFlight.remove(offset);
+                done.add(offset);
+            }
+        }
+
+        private synchronized boolean isDone(long offset) {
+            return done.contains(offset);
+        }
+
+        private void drain() throws InterruptedException {
+            permits.acquire(concurrency);
+            permits.release(concurrency);
+        }
+
+        /**
+         * Waits up to {@code roster.transfer.drain-timeout-ms} for the creates in flight, or not at all once interrupted,
+         * as on shutdown, when queued creates never run. The checkpoint then resumes before the oldest one unfinished.
+         */
+        private void awaitInFlight(boolean interrupted) {
+            try {
+                if (!interrupted && !permits.tryAcquire(concurrency, drainTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    logger.warn("Import of {} stopped with {} creates still in flight", file, inFlight.size());
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Writes the offset before which every record is done, the offsets of the records done after it, and the counts
+         * of all done records.
+         */
+        private void checkpoint() throws IOException {
+            Properties checkpoint = new Properties();
+            long offset;
+            synchronized (this) {
+                Map.Entry<Long, Long> oldest = inFlight.firstEntry();
+                offset = oldest == null ? readOffset : oldest.getKey();
+                done.headSet(offset).clear();
+                StringBuilder doneAfter = new StringBuilder();
+                for (Long doneOffset : done) {
+                    doneAfter.append(doneAfter.length() == 0 ? "" : ",").append(doneOffset);
+                }
+                checkpoint.setProperty("offset", Long.toString(offset));
+                checkpoint.setProperty("records", Long.toString(oldest == null ? records : oldest.getValue() - 1));
+                checkpoint.setProperty("done", doneAfter.toString());
+                checkpoint.setProperty("created", Long.toString(created.get()));
+                checkpoint.setProperty("invalid", Long.toString(invalid.get()));
+                checkpoint.setProperty("failed", Long.toString(failed.get()));
+                rejects.flush();
+            }
+            Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            try (Writer out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                checkpoint.store(out, "Import progress of " + file.getFileName());
+            }
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointOffset = offset;
+        }
+
+        private synchronized void reject(long number, String reason, String record) throws IOException {
+            rejects.write(number + "\t" + reason + "\t" + record + "\n");
+        }
+
+        private Employee fromCsv(String record, Map<String, Integer> columns) {
+            List<String> fields = EmployeeCsv.parse(record);
+            return toEmployee(field(fields, columns.get("name")), toInt(field(fields, columns.get("salary")), "salary"),
+                    toInt(field(fields, columns.get("age")), "age"));
+        }
+
+        private Employee fromJson(String record) {
+            Map<?, ?> fields;
+            try {
+                fields = objectMapper.readValue(record, Map.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("malformed JSON: " + e.getOriginalMessage());
+            }
+            Object name = fields.containsKey("employee_name") ? fields.get("employee_name") : fields.get("name");
+            Object salary = fields.containsKey("employee_salary") ? fields.get("employee_salary") : fields.get("salary");
+            Object age = fields.containsKey("employee_age") ? fields.get("employee_age") : fields.get("age");
+            return toEmployee(name instanceof String ? (String) name : null, toInt(salary, "salary"), toInt(age, "age"));
+        }
+
+        private ImportProgress progress() {
+            ImportProgress progress = new ImportProgress();
+            progress.setFile(file.getFileName().toString());
+            progress.setState(state);
+            progress.setRecords(records);
+            progress.setCreated(created.get());
+            progress.setInvalid(invalid.get());
+            progress.setFailed(failed.get());
+            progress.setCheckpointOffset(checkpointOffset);
+            progress.setError(error);
+            return progress;
+        }
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            columns.put(name.startsWith("employee_") ? name.substring("employee_".length()) : name, i);
+        }
+        for (String required : Arrays.asList("name", "salary", "age")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header lacks the employee_" + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static int toInt(Object value, String field) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+        if (value instanceof String && !((String) value).trim().isEmpty()) {
+            try {
+                return Integer.parseInt(((String) value).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(field + " is not a whole number");
+            }
+        }
+        throw new IllegalArgumentException(field + " is required");
+    }
+
+    private static Employee toEmployee(String name, int salary, int age) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (!Employee.isNameWithinLimit(name)) {
+            throw new IllegalArgumentException("name longer than " + Employee.MAX_NAME_BYTES + " bytes");
+        }
+        if (salary < 0 || age < 0) {
+            throw new IllegalArgumentException("salary and age must not be negative");
+        }
+        Employee employee = new Employee();
+        employee.setEmployee_name(name);
+        employee.setEmployee_salary(salary);
+        employee.setEmployee_age(age);
+        return employee;
+    }
+
+    /**
+     * Reads a file one record at a time through a fixed buffer. Records end at a line break, except inside a quoted
+     * CSV field; bytes past the record size limit are dropped and the record flagged as truncated.
+     */
+    private static final class RecordReader {
+        private final FileChannel channel;
+        private final boolean csv;
+        private final int maxBytes;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+        private byte[] record = new byte[256];
+        // offset in the file of the next byte to consume
+        private long offset;
+        private long recordOffset;
+        private boolean truncated;
+
+        private RecordReader(FileChannel channel, boolean csv, int maxBytes) {
+            this.channel = channel;
+            this.csv = csv;
+            this.maxBytes = maxBytes;
+            buffer.limit(0);
+        }
+
+        private void seek(long offset) {
+            if (offset != this.offset) {
+                this.offset = offset;
+                buffer.limit(0);
+            }
+        }
+
+        private long getOffset() {
+            return offset;
+        }
+
+        private long getRecordOffset() {
+            return recordOffset;
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * @return the next record without its line break, or null at the end of the file.
+         */
+        private String next() throws IOException {
+            recordOffset = offset;
+            truncated = false;
+            int length = 0;
+            boolean quoted = false;
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    int read = channel.read(buffer, offset);
+                    buffer.flip();
+                    if (read <= 0) {
+                        if (offset == recordOffset) {
+                            return null;
+                        }
+                        break;
+                    }
+                }
+                byte b = buffer.get();
+                offset++;
+                if (b == '\n' && !quoted) {
+                    break;
+                }
+                if (b == '"' && csv) {
+                    quoted = !quoted;
+                }
+                if (length == maxBytes) {
+                    truncated = true;
+                    continue;
+                }
+                if (length == record.length) {
+                    record = Arrays.copyOf(record, Math.min(maxBytes, length * 2));
+                }
+                record[length++] = b;
+            }
+            if (length > 0 && record[length - 1] == '\r') {
+                length--;
+            }
+            return new String(record, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the rosters of several instances coherent by sending local creates and deletes to the other instances over a
+ * {@link RosterEventBus}, and applying theirs to the local {@link RosterCache}.
+ * <p>
+ * Every event carries the sequence number its instance gave it, so that lost events show up as gaps, and a version
+ * from a Lamport clock shared by all instances. For each employee the change with the highest version wins, ties going
+ * to the higher instance id, so instances converge however the bus orders or repeats events. Versions are remembered
+ * for {@code employees.bus.stamp-retention-ms}, long enough for any event still on its way; an event older than that is
+ * applied as if new.
+ * <p>
+ * Only the instance that made a delete verifies it upstream, and it sends the outcome to the others: a settled delete
+ * stops being kept out of their refreshed rosters, a restored employee is put back. Since the outcome can be lost with
+ * the bus or the instance, the others settle a delete themselves once the instance that made it would have given up
+ * verifying it, {@code employees.delete.reconcile-delay-ms} times {@code employees.delete.reconcile-max-attempts} plus
+ * the longest backoff after receiving it, and their next refresh shows whatever the upstream lists.
+ * <p>
+ * The bus is chosen with {@code employees.bus.type}: {@code none}, {@code in-process} for instances sharing a JVM, or
+ * {@code udp} for instances that know each other's addresses.
+ */
+@Component
+public class RosterReplicator {
+    private static final Logger logger = LoggerFactory.getLogger(RosterReplicator.class);
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employees.bus.type:none}")
+    private String type;
+
+    @Value("${employees.bus.node-id:}")
+    private String nodeId;
+
+    @Value("${employees.bus.channel:roster}")
+    private String channel;
+
+    @Value("${employees.bus.udp.host:127.0.0.1}")
+    private String udpHost;
+
+    @Value("${employees.bus.udp.port:0}")
+    private int udpPort;
+
+    @Value("${employees.bus.udp.peers:}")
+    private List<String> udpPeers;
+
+    @Value("${employees.bus.stamp-retention-ms:600000}")
+    private long stampRetentionMillis;
+
+    @Value("${employees.delete.reconcile-delay-ms:5000}")
+    private long reconcileDelayMillis;
+
+    @Value("${employees.delete.reconcile-interval-ms:1000}")
+    private long reconcileIntervalMillis;
+
+    @Value("${employees.delete.reconcile-max-attempts:3}")
+    private int reconcileMaxAttempts;
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-bus-stamps");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong seq = new AtomicLong();
+    // latest version applied per employee id, local or received
+    private final Map<Integer, Stamp> stamps = new ConcurrentHashMap<>();
+    // latest sequence number received per instance
+    private final Map<String, Long> received = new ConcurrentHashMap<>();
+    // System.nanoTime() when each delete of another instance awaiting its outcome was applied
+    private final Map<Integer, Long> remoteDeletes = new ConcurrentHashMap<>();
+    private long remoteDeleteExpiryMillis;
+    private RosterEventBus bus;
+    private Counter published;
+    private Counter applied;
+    private Counter superseded;
+    private Counter oversized;
+    private Counter gaps;
+
+    @PostConstruct
+    void start() {
+        if (nodeId.isEmpty()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+        if ("in-process".equalsIgnoreCase(type)) {
+            bus = new InProcessRosterEventBus(channel);
+        } else if ("udp".equalsIgnoreCase(type)) {
+            List<InetSocketAddress> peers = new ArrayList<>();
+            for (String peer : udpPeers) {
+                int colon = peer.lastIndexOf(':');
+                peers.add(new InetSocketAddress(peer.substring(0, colon).trim(), Integer.parseInt(peer.substring(colon + 1).trim())));
+            }
+            bus = new UdpRosterEventBus(new InetSocketAddress(udpHost, udpPort), peers, objectMapper);
+        } else if (!"none".equalsIgnoreCase(type)) {
+            throw new IllegalStateException("employees.bus.type must be none, in-process or udp, was " + type);
+        }
+        published = counter("published");
+        applied = counter("applied");
+        superseded = counter("superseded");
+        oversized = counter("oversized");
+        gaps = Counter.builder("employees.bus.gaps").description("Roster events of other instances missed or received out of order")
+                .register(meterRegistry);
+        if (bus != null) {
+            bus.start(this::receive);
+            long sweepMillis = Math.max(1, stampRetentionMillis / 4);
+            sweeper.scheduleWithFixedDelay(this::evictStamps, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+            remoteDeleteExpiryMillis = reconcileDelayMillis * Math.max(1, reconcileMaxAttempts)
+                    + (reconcileIntervalMillis << Math.min(Math.max(1, reconcileMaxAttempts), 10));
+            long expiryCheckMillis = Math.max(1, remoteDeleteExpiryMillis / 4);
+            sweeper.scheduleWithFixedDelay(this::settleExpiredDeletes, expiryCheckMillis, expiryCheckMillis, TimeUnit.MILLISECONDS);
+            logger.info("Replicating roster changes as {} over the {} bus", nodeId, type);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+        if (bus != null) {
+            bus.close();
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return the bus events are sent on, or null when replication is off.
+     */
+    public RosterEventBus getBus() {
+        return bus;
+    }
+
+    /**
+     * Sends employees created locally, and already applied to the local roster, to the other instances.
+     */
+    public void publishCreated(List<Employee> employees) {
+        for (Employee employee : employees) {
+            publish(RosterEvent.Type.CREATED, employee.getId(), employee);
+        }
+    }
+
+    public void publishCreated(Employee employee) {
+        publishCreated(Collections.singletonList(employee));
+    }
+
+    /**
+     * Sends an employee deleted locally, and already removed from the local roster, to the other instances.
+     */
+    public void publishDeleted(String id) {
+        try {
+            publish(RosterEvent.Type.DELETED, Integer.parseInt(id), null);
+        } catch (NumberFormatException e) {
+            logger.debug("Not replicating delete of non-numeric employee id {}", id);
+        }
+    }
+
+    /**
+     * Sends the outcome of verifying a local delete: settled, or restored when the employee is still listed upstream.
+     *
+     * @param restored the employee as the upstream still lists it, or null when the delete is settled.
+     */
+    public void publishVerified(int id, Employee restored) {
+        if (restored != null) {
+            publish(RosterEvent.Type.RESTORED, id, restored);
+        } else {
+            publish(RosterEvent.Type.SETTLED, id, null);
+        }
+    }
+
+    /**
+     * @return the number of deletes of other instances still waiting for their outcome.
+     */
+    public int getRemoteDeleteCount() {
+        return remoteDeletes.size();
+    }
+
+    /**
+     * @return the number of employees whose latest version is remembered.
+     */
+    public int getStampCount() {
+        return stamps.size();
+    }
+
+    private void publish(RosterEvent.Type type, int id, Employee employee) {
+        if (bus == null) {
+            return;
+        }
+        long version = clock.incrementAndGet();
+        if (type != RosterEvent.Type.SETTLED) {
+            stamps.merge(id, new Stamp(version, nodeId), Stamp::latest);
+        }
+        try {
+            bus.publish(new RosterEvent(nodeId, seq.incrementAndGet(), version, type, id, employee));
+        } catch (IllegalArgumentException e) {
+            // its sequence number is taken, so the other instances count the lost event as a gap
+            logger.error("Not replicating {} of employee {}: {}", type, id, e.getMessage());
+            oversized.increment();
+            return;
+        }
+        published.increment();
+    }
+
+    private void receive(RosterEvent event) {
+        if (nodeId.equals(event.getOrigin())) {
+            return;
+        }
+        try {
+            checkSequence(event);
+            clock.accumulateAndGet(event.getVersion(), Math::max);
+            // a settle changes no employee, so it is not versioned
+            if (event.getType() == RosterEvent.Type.SETTLED) {
+                remoteDeletes.remove(event.getId());
+                rosterCache.settleDeleted(event.getId());
+                applied.increment();
+                return;
+            }
+            Stamp stamp = new Stamp(event.getVersion(), event.getOrigin());
+            // a duplicate finds its own version already applied, and loses like any older change
+            if (stamps.merge(event.getId(), stamp, Stamp::latest) != stamp) {
+                logger.debug("Ignoring {} of employee {} from {}, superseded", event.getType(), event.getId(), event.getOrigin());
+                superseded.increment();
+                return;
+            }
+            if (event.getType() == RosterEvent.Type.CREATED) {
+                rosterCache.applyCreated(event.getEmployee());
+            } else if (event.getType() == RosterEvent.Type.RESTORED) {
+                remoteDeletes.remove(event.getId());
+                rosterCache.restore(event.getEmployee());
+            } else {
+                // kept out of refreshed rosters until the instance that made the delete settles it, or it expires
+                remoteDeletes.put(event.getId(), System.nanoTime());
+                rosterCache.applyDeleted(Integer.toString(event.getId()));
+            }
+            applied.increment();
+        } catch (RuntimeException e) {
+            logger.error("Failed to apply roster event {} of employee {} from {}", event.getType(), event.getId(), event.getOrigin(), e);
+        }
+    }
+
+    /**
+     * Records the event's sequence number, counting the events of its instance skipped since the previous one.
+     */
+    private synchronized void checkSequence(RosterEvent event) {
+        Long previous = received.put(event.getOrigin(), Math.max(event.getSeq(), received.getOrDefault(event.getOrigin(), 0L)));
+        if (previous != null && previous + 1 < event.getSeq()) {
+            logger.warn("Missed {} roster events from {}", event.getSeq() - previous - 1, event.getOrigin());
+            gaps.increment(event.getSeq() - previous - 1);
+        }
+    }
+
+    private void evictStamps() {
+        long oldest = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(stampRetentionMillis);
+        stamps.values().removeIf(stamp -> stamp.recordedAt - oldest < 0);
+    }
+
+    /**
+     * Settles the deletes of other instances whose outcome has not arrived in time.
+     */
+    private void settleExpiredDeletes() {
+        long oldest = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(remoteDeleteExpiryMillis);
+        for (Map.Entry<Integer, Long> entry : remoteDeletes.entrySet()) {
+            if (entry.getValue() - oldest < 0 && remoteDeletes.remove(entry.getKey(), entry.getValue())) {
+                logger.warn("No outcome received for the delete of employee {}, settling it", entry.getKey());
+                rosterCache.settleDeleted(entry.getKey());
+            }
+        }
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("employees.bus.events").tag("outcome", outcome)
+                .description("Roster events sent to or received from other instances").register(meterRegistry);
+    }
+
+    /**
+     * Version of the latest change to an employee, and when it was recorded here.
+     */
+    private static final class Stamp {
+        private final long version;
+        private final String origin;
+        private final long recordedAt = System.nanoTime();
+
+        private Stamp(long version, String origin) {
+            this.version = version;
+            this.origin = origin;
+        }
+
+        private static Stamp latest(Stamp a, Stamp b) {
+            if (a.version != b.version) {
+                return a.version > b.version ? a : b;
+            }
+            return a.origin.compareTo(b.origin) >= 0 ? a : b;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the polled roster endpoints from bytes serialized once per roster version, with conditional GET support.
+ * <p>
+ * For {@code GET /employees}, {@code /employees/highestSalary}, {@code /employees/topTenHighestEarningEmployeeNames}
+ * and {@code /employees/stats} the JSON body is serialized the first time a roster version is asked for and kept until the roster changes. Each
+ * body gets a strong ETag derived from a SHA-256 hash of its bytes, so a refreshed roster with the same content keeps
+ * its ETag, and a request whose {@code If-None-Match} matches is answered with 304 and no body. Gzip and deflate
+ * variants are compressed on first demand and cached alongside; they carry their own ETag since their bytes differ.
+ * <p>
+ * Only a roster that {@link RosterCache#peek()} can serve without waiting is used; otherwise the request falls through
+ * to the controller, which loads it.
+ */
+@Component
+public class RosterResponseCache extends OncePerRequestFilter {
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+
+    private final RosterCache rosterCache;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Autowired
+    public RosterResponseCache(RosterCache rosterCache, ObjectMapper objectMapper) {
+        this.rosterCache = rosterCache;
+        this.objectMapper = objectMapper;
+        endpoints.put("/employees", new Endpoint(Roster::getEmployees));
+        endpoints.put("/employees/highestSalary", new Endpoint(Roster::getHighestSalary));
+        endpoints.put("/employees/topTenHighestEarningEmployeeNames", new Endpoint(roster -> roster.getTopEarnerNames(10)));
+        endpoints.put("/employees/stats", new Endpoint(Roster::getStats));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // request parameters select another handler, such as the multi-get on /employees
+        return !"GET".equals(request.getMethod()) || !endpoints.containsKey(pathOf(request))
+                || !request.getParameterMap().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Roster roster = rosterCache.peek();
+        if (roster == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = pathOf(request);
+        // lets metrics tag the request with its endpoint although no handler runs
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, path);
+        Representation representation = endpoints.get(path).representationOf(roster);
+        String encoding = preferredEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = representation.etag(encoding);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), representation.hash)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] body = representation.body(encoding);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (encoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * @return gzip or deflate when the client accepts it, gzip first, or null for an uncompressed body.
+     */
+    private static String preferredEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String coding : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+            String name = parts[0].toLowerCase();
+            if (parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?")) {
+                continue;
+            }
+            if (GZIP.equals(name) || "x-gzip".equals(name) || "*".equals(name)) {
+                return GZIP;
+            }
+            deflate |= DEFLATE.equals(name);
+        }
+        return deflate ? DEFLATE : null;
+    }
+
+    /**
+     * Weak comparison of the If-None-Match list against the ETags of every encoding of the body.
+     */
+    private static boolean matches(String ifNoneMatch, String hash) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : StringUtils.tokenizeToStringArray(ifNoneMatch, ",")) {
+            if ("*".equals(tag)) {
+                return true;
+            }
+            String opaque = tag.startsWith("W/") ? tag.substring(2) : tag;
+            if (opaque.length() >= 2 && opaque.startsWith("\"") && opaque.endsWith("\"")) {
+                opaque = opaque.substring(1, opaque.length() - 1);
+                if (opaque.equals(hash) || opaque.equals(hash + "-" + GZIP) || opaque.equals(hash + "-" + DEFLATE)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One cached endpoint: the representation of the latest roster version asked for.
+     */
+    private final class Endpoint {
+        private final Function<Roster, Object> body;
+        private final AtomicReference<Representation> latest = new AtomicReference<>();
+
+        private Endpoint(Function<Roster, Object> body) {
+            this.body = body;
+        }
+
+        Representation representationOf(Roster roster) {
+            Representation current = latest.get();
+            if (current != null && current.roster == roster && current.version == roster.getVersion()) {
+                return current;
+            }
+            // the version is read first, so the body is at least as new as the version it is cached under
+            long version = roster.getVersion();
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(body.apply(roster));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Representation created = new Representation(roster, version, json);
+            latest.set(created);
+            return created;
+        }
+    }
+
+    /**
+     * Serialized body of one endpoint for one roster version, with its compressed variants.
+     */
+    private static final class Representation {
+        private final Roster roster;
+        private final long version;
+        private final byte[] identity;
+        private final String hash;
+        private volatile byte[] gzip;
+        private volatile byte[] deflate;
+
+        private Representation(Roster roster, long version, byte[] identity) {
+            this.roster = roster;
+            this.version = version;
+            this.identity = identity;
+            this.hash = sha256(identity);
+        }
+
+        String etag(String encoding) {
+            return encoding == null ? "\"" + hash + "\"" : "\"" + hash + "-" + encoding + "\"";
+        }
+
+        byte[] body(String encoding) throws IOException {
+            if (encoding == null) {
+                return identity;
+            }
+            if (GZIP.equals(encoding)) {
+                byte[] compressed = gzip;
+                if (compressed == null) {
+                    compressed = compress(new ByteArrayOutputStream(identity.length / 4 + 64), true);
+                    gzip = compressed;
+                }
+                return compressed;
+            }
+            byte[] compressed = deflate;
+            if (compressed == null) {
+                compressed = compress(new ByteArrayOutputStream(identity.length / 4 + 64), false);
+                deflate = compressed;
+            }
+            return compressed;
+        }
+
+        private byte[] compress(ByteArrayOutputStream buffer, boolean gzip) throws IOException {
+            try (OutputStream out = gzip ? new GZIPOutputStream(buffer, 1 << 16) : new DeflaterOutputStream(buffer)) {
+                out.write(identity);
+            }
+            return buffer.toByteArray();
+        }
+
+        private static String sha256(byte[] bytes) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+                StringBuilder hex = new StringBuilder(32);
+                // 128 bits are plenty to tell roster versions apart
+                for (int i = 0; i < 16; i++) {
+                    hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+                }
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.rqchallenge.employees;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Persists the roster so that a restarted service can serve it before the API answers.
+ * <p>
+ * The roster is written to a compact binary snapshot, replaced atomically and read back through a
+ * {@link MappedByteBuffer}. Creates and deletes applied after the snapshot go to an append-only change
+ * log that is replayed on top of it. Once the log holds enough entries the caller compacts it by writing
+ * a new snapshot, which also drops the entries it covers from the log. Replaying is idempotent, so an entry that is already in
+ * the snapshot does no harm. A torn record at the end of the log, left by a crash mid-write, is cut off
+ * on load. Persistence is off unless {@code roster.store.dir} is set.
+ */
+@Component
+public class RosterStore {
+    private static final Logger logger = LoggerFactory.getLogger(RosterStore.class);
+    private static final int SNAPSHOT_MAGIC = 0x52515353;
+    private static final int FORMAT_VERSION = 1;
+    private static final byte CREATED = 'C';
+    private static final byte DELETED = 'D';
+    private static final int NULL_LENGTH = -1;
+
+    private final String directory;
+    private final int compactAfter;
+    private final Object snapshotLock = new Object();
+    private Path snapshotFile;
+    private Path logFile;
+    private FileChannel log;
+    private int logEntries;
+
+    /**
+     * @param directory    where the snapshot and change log are kept, or empty to turn persistence off.
+     * @param compactAfter number of logged changes after which the log should be compacted.
+     */
+    public RosterStore(@Value("${roster.store.dir:}") String directory,
+                       @Value("${roster.store.compact-after:10000}") int compactAfter) {
+        this.directory = directory;
+        this.compactAfter = compactAfter;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        Path root = Paths.get(directory);
+        Files.createDirectories(root);
+        snapshotFile = root.resolve("roster.snapshot");
+        logFile = root.resolve("roster.log");
+        log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return !directory.isEmpty();
+    }
+
+    /**
+     * Reads the snapshot and replays the change log on top of it.
+     *
+     * @return the persisted roster, or null when persistence is off or there is no readable snapshot.
+     */
+    public synchronized Roster load() {
+        if (!isEnabled() || !Files.exists(snapshotFile)) {
+            return null;
+        }
+        Roster roster;
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 12 || buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                logger.warn("Ignoring roster snapshot {} with an unknown format", snapshotFile);
+                return null;
+            }
+            int count = buffer.getInt();
+            List<Employee> employees = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                employees.add(readEmployee(buffer));
+            }
+            roster = new Roster(employees);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            logger.warn("Ignoring unreadable roster snapshot {}: {}", snapshotFile, e.toString());
+            return null;
+        }
+        try {
+            replayLog(roster);
+        } catch (IOException e) {
+            logger.warn("Failed to replay roster change log {}: {}", logFile, e.toString());
+        }
+        logger.info("Loaded persisted employee roster: {} employees, {} logged changes", roster.size(), logEntries);
+        return roster;
+    }
+
+    /**
+     * Replaces the snapshot with the given roster and truncates the change log.
+     */
+    public void writeSnapshot(Roster roster) {
+        writeSnapshot(roster.copyColumns(), getLogPosition());
+    }
+
+    /**
+     * Replaces the snapshot with the given roster, which holds the changes logged before {@code logPosition}, and
+     * drops those changes from the log. The snapshot is written and forced without blocking appends; only the swap
+     * of the snapshot and the log holds them up.
+     *
+     * @param logPosition the {@link #getLogPosition()} taken together with the copy of the roster.
+     */
+    public void writeSnapshot(EmployeeColumns columns, long logPosition) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (snapshotLock) {
+            Path temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+                    out.writeInt(SNAPSHOT_MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeInt(columns.size());
+                    for (int row = 0; row < columns.rowCount(); row++) {
+                        if (columns.isLive(row)) {
+                            writeEmployee(out, columns.materialize(row));
+                        }
+                    }
+                    out.flush();
+                    channel.force(false);
+                }
+                synchronized (this) {
+                    Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    dropLogBefore(logPosition);
+                }
+                logger.info("Wrote roster snapshot: {} employees", columns.size());
+            } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+                logger.error("Failed to write roster snapshot {}: {}", snapshotFile, e.toString());
+            }
+        }
+    }
+
+    /**
+     * @return the end of the change log, which changes appended later will follow.
+     */
+    public synchronized long getLogPosition() {
+        try {
+            return isEnabled() ? log.size() : 0;
+        } catch (IOException e) {
+            logger.error("Failed to read size of roster change log {}: {}", logFile, e.toString());
+            return 0;
+        }
+    }
+
+    /**
+     * @return whether there is no snapshot yet or the change log has grown enough to be compacted.
+     */
+    public synchronized boolean needsCompaction() {
+        return isEnabled() && (logEntries >= compactAfter || !Files.exists(snapshotFile));
+    }
+
+    /**
+     * Drops the changes before the given position from the log, moving the ones after it into a new log file that
+     * replaces the old one atomically.
+     */
+    private void dropLogBefore(long position) throws IOException {
+        long size = log.size();
+        if (position >= size) {
+            log.truncate(0);
+            logEntries = 0;
+            return;
+        }
+        ByteBuffer tail = ByteBuffer.allocate((int) (size - position));
+        while (tail.hasRemaining()) {
+            if (log.read(tail, position + tail.position()) < 0) {
+                throw new IOException("change log ended at " + (position + tail.position()));
+            }
+        }
+        tail.flip();
+        logEntries = countEntries(tail.duplicate());
+        Path temporary = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (tail.hasRemaining()) {
+                channel.write(tail);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.close();
+        log = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static int countEntries(ByteBuffer records) {
+        int count = 0;
+        while (records.hasRemaining()) {
+            byte operation = records.get();
+            if (operation == CREATED) {
+                readEmployee(records);
+            } else if (operation == DELETED) {
+                records.getInt();
+            } else {
+                throw new IllegalArgumentException("unknown operation " + operation);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Appends a create to the change log.
+     *
+     * @return whether the log has grown enough to be compacted.
+     */
+    public boolean appendCreated(Employee employee) {
+        return appendCreated(Collections.singletonList(employee));
+    }
+
+    /**
+     * Appends creates to the change log with a single write.
+     *
+     * @return whether the log has grown enough to be compacted.
+     */
+    public boolean appendCreated(List<Employee> employees) {
+        if (!isEnabled()) {
+            return false;
+        }
+        List<byte[]> names = new ArrayList<>(employees.size());
+        List<byte[]> images = new ArrayList<>(employees.size());
+        int size = 0;
+        for (Employee employee : employees) {
+            names.add(encode(employee.getEmployee_name()));
+            images.add(encode(employee.getProfile_image()));
+            size += 1 + 20 + length(names.get(names.size() - 1)) + length(images.get(images.size() - 1));
+        }
+        ByteBuffer records = ByteBuffer.allocate(size);
+        for (int i = 0; i < employees.size(); i++) {
+            records.put(CREATED);
+            putEmployee(records, employees.get(i), names.get(i), images.get(i));
+        }
+        return append(records, employees.size());
+    }
+
+    /**
+     * Appends a delete to the change log.
+     *
+     * @return whether the log has grown enough to be compacted.
+     */
+    public boolean appendDeleted(int id) {
+        return isEnabled() && append(ByteBuffer.allocate(5).put(DELETED).putInt(id), 1);
+    }
+
+    private synchronized boolean append(ByteBuffer records, int count) {
+        try {
+            records.flip();
+            long position = log.size();
+            while (records.hasRemaining()) {
+                position += log.write(records, position);
+            }
+            logEntries += count;
+            return logEntries >= compactAfter;
+        } catch (IOException e) {
+            logger.error("Failed to append to roster change log {}: {}", logFile, e.toString());
+            return false;
+        }
+    }
+
+    private void replayLog(Roster roster) throws IOException {
+        long size = log.size();
+        MappedByteBuffer buffer = log.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        logEntries = 0;
+        int applied = 0;
+        try {
+            while (buffer.hasRemaining()) {
+                byte operation = buffer.get();
+                if (operation == CREATED) {
+                    roster.add(readEmployee(buffer));
+                } else if (operation == DELETED) {
+                    roster.remove(buffer.getInt());
+                } else {
+                    throw new IllegalArgumentException("unknown operation " + operation);
+                }
+                applied = buffer.position();
+                logEntries++;
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            logger.warn("Truncating roster change log {} after {} of {} bytes", logFile, applied, size);
+            log.truncate(applied);
+        }
+    }
+
+    private static void writeEmployee(DataOutputStream out, Employee employee) throws IOException {
+        out.writeInt(employee.getId());
+        out.writeInt(employee.getEmployee_salary());
+        out.writeInt(employee.getEmployee_age());
+        writeBytes(out, encode(employee.getEmployee_name()));
+        writeBytes(out, encode(employee.getProfile_image()));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes == null ? NULL_LENGTH : bytes.length);
+        if (bytes != null) {
+            out.write(bytes);
+        }
+    }
+
+    private static void putEmployee(ByteBuffer buffer, Employee employee, byte[] name, byte[] image) {
+        buffer.putInt(employee.getId()).putInt(employee.getEmployee_salary()).putInt(employee.getEmployee_age());
+        buffer.putInt(name == null ? NULL_LENGTH : name.length);
+        if (name != null) {
+            buffer.put(name);
+        }
+        buffer.putInt(image == null ? NULL_LENGTH : image.length);
+        if (image != null) {
+            buffer.put(image);
+        }
+    }
+
+    private static Employee readEmployee(ByteBuffer buffer) {
+        Employee employee = new Employee();
+        employee.setId(buffer.getInt());
+        employee.setEmployee_salary(buffer.getInt());
+        employee.setEmployee_age(buffer.getInt());
+        employee.setEmployee_name(readString(buffer));
+        employee.setProfile_image(readString(buffer));
+        return employee;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+}
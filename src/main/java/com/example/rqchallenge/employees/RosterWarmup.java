@@ -0,0 +1,176 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fast-start mode: the service starts taking connections at once and warms up in the background, reporting itself not
+ * ready until it is warm.
+ * <p>
+ * Once the application is up, and after a random delay of up to {@code employees.warmup.jitter-ms} so that replicas
+ * deployed together do not fetch the roster from the upstream at the same moment, the roster is loaded, which also
+ * builds its indexes and opens the first upstream connection. A failed load is retried until
+ * {@code employees.warmup.max-wait-ms} have passed. The hot read endpoints are then called
+ * {@code employees.warmup.iterations} times on the loaded roster and their results serialized, so that the request
+ * path is compiled before real traffic arrives; by-ID lookups are served from the roster and do not reach the upstream.
+ * <p>
+ * As the {@code rosterWarmup} health indicator this reports OUT_OF_SERVICE until warm, which keeps the readiness group
+ * down, and UP once warm, once warm-up gave up, or always when the mode is off. The JVM uptime at which the service
+ * became warm is published as {@code employees.warmup.ready.time}, to compare with Spring Boot's
+ * {@code application.ready.time} of a start without warm-up.
+ */
+@Component
+public class RosterWarmup implements HealthIndicator {
+    private static final Logger logger = LoggerFactory.getLogger(RosterWarmup.class);
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private EmployeeControllerImpl employeeController;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employees.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${employees.warmup.jitter-ms:2000}")
+    private long jitterMillis;
+
+    @Value("${employees.warmup.iterations:100}")
+    private int iterations;
+
+    @Value("${employees.warmup.retry-ms:1000}")
+    private long retryMillis;
+
+    @Value("${employees.warmup.max-wait-ms:60000}")
+    private long maxWaitMillis;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile String phase = "pending";
+    private volatile boolean warm;
+    private volatile double readyUptimeMillis = Double.NaN;
+    private long startedAt;
+
+    @PostConstruct
+    void init() {
+        TimeGauge.builder("employees.warmup.ready.time", this, TimeUnit.MILLISECONDS, warmup -> warmup.readyUptimeMillis)
+                .description("JVM uptime at which warm-up completed").register(meterRegistry);
+        if (!enabled) {
+            phase = "disabled";
+            warm = true;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        startedAt = System.nanoTime();
+        long delay = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0;
+        logger.info("Warming up in {} ms", delay);
+        executor.schedule(this::load, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Health health() {
+        return (warm ? Health.up() : Health.outOfService()).withDetail("phase", phase).build();
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    private void load() {
+        phase = "loading";
+        Roster roster;
+        try {
+            roster = rosterCache.getRoster();
+        } catch (RuntimeException e) {
+            if (System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(maxWaitMillis)) {
+                logger.error("Giving up warm-up after {} ms, the roster could not be loaded: {}", maxWaitMillis, e.getMessage());
+                finish("gave-up");
+            } else {
+                logger.warn("Failed to load the roster for warm-up, retrying in {} ms: {}", retryMillis, e.getMessage());
+                executor.schedule(this::load, retryMillis, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+        phase = "exercising";
+        try {
+            exercise(roster.getEmployees());
+        } catch (RuntimeException | IOException e) {
+            logger.warn("Warm-up of the read endpoints failed: {}", e.getMessage());
+        }
+        finish("warm");
+    }
+
+    /**
+     * Calls the hot read endpoints, each time for another employee of the roster.
+     */
+    private void exercise(List<Employee> employees) throws IOException {
+        if (employees.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < iterations; i++) {
+            Employee employee = employees.get(i % employees.size());
+            String name = employee.getEmployee_name() == null ? "" : employee.getEmployee_name();
+            serialize(employeeController.getAllEmployees());
+            serialize(employeeController.getHighestSalaryOfEmployees());
+            serialize(employeeController.getTopTenHighestEarningEmployeeNames());
+            serialize(employeeController.getEmployeeStats());
+            serialize(employeeController.getEmployeeById(Integer.toString(employee.getId())));
+            serialize(employeeController.getEmployeesByNameSearch(name.substring(0, Math.min(3, name.length())), "contains", null));
+            serialize(employeeController.findEmployees(employee.getEmployee_salary(), null, null, null, "salary", "asc", 20, 0));
+        }
+    }
+
+    private void serialize(CompletableFuture<? extends ResponseEntity<?>> response) throws JsonProcessingException {
+        objectMapper.writeValueAsBytes(response.join().getBody());
+    }
+
+    private void finish(String outcome) {
+        readyUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        phase = outcome;
+        warm = true;
+        logger.info("Warm-up finished ({}) after {} ms, ready at {} ms of JVM uptime", outcome,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), (long) readyUptimeMillis);
+    }
+}
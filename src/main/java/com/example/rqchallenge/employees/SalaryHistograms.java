@@ -0,0 +1,60 @@
+package com.example.rqchallenge.employees;
+
+/**
+ * Salary histograms per age band, maintained incrementally as employees are added and removed.
+ * <p>
+ * Ages are grouped into bands of {@link #AGE_BAND_WIDTH} years and salaries into buckets of
+ * {@link #SALARY_BUCKET_WIDTH}; the last band and the last bucket are open-ended, and negative values
+ * count towards the first. Every update is O(1), and reading all histograms costs the fixed number of
+ * counters regardless of the number of employees.
+ */
+public class SalaryHistograms {
+    public static final int AGE_BAND_WIDTH = 10;
+    public static final int AGE_BANDS = 10;
+    public static final int SALARY_BUCKET_WIDTH = 50_000;
+    public static final int SALARY_BUCKETS = 20;
+
+    private final int[][] counts = new int[AGE_BANDS][SALARY_BUCKETS];
+    private final int[] bandCounts = new int[AGE_BANDS];
+    private final long[] bandSalarySums = new long[AGE_BANDS];
+    private long salarySum;
+
+    public void add(int age, int salary) {
+        update(age, salary, 1);
+    }
+
+    public void remove(int age, int salary) {
+        update(age, salary, -1);
+    }
+
+    private void update(int age, int salary, int delta) {
+        int band = clamp(age / AGE_BAND_WIDTH, AGE_BANDS);
+        counts[band][clamp(salary / SALARY_BUCKET_WIDTH, SALARY_BUCKETS)] += delta;
+        bandCounts[band] += delta;
+        bandSalarySums[band] += (long) delta * salary;
+        salarySum += (long) delta * salary;
+    }
+
+    private static int clamp(int index, int count) {
+        return Math.max(0, Math.min(index, count - 1));
+    }
+
+    public long getSalarySum() {
+        return salarySum;
+    }
+
+    public int getBandCount(int band) {
+        return bandCounts[band];
+    }
+
+    public long getBandSalarySum(int band) {
+        return bandSalarySums[band];
+    }
+
+    /**
+     * @return the number of employees of the band in the salary bucket.
+     */
+    public int getCount(int band, int bucket) {
+        return counts[band][bucket];
+    }
+}
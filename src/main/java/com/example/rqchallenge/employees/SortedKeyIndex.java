@@ -0,0 +1,106 @@
+package com.example.rqchallenge.employees;
+
+import java.util.Arrays;
+
+/**
+ * Employee ids ordered by an int key, ties broken by id.
+ * <p>
+ * Each entry packs the key into the high and the id into the low 32 bits of a long, so the natural
+ * long order is the index order and the whole index is a single sorted primitive array. Reads by rank
+ * are O(1), inserts and removals are a binary search plus one array shift.
+ */
+public class SortedKeyIndex {
+    private long[] entries;
+    private int size;
+
+    public SortedKeyIndex(int capacity) {
+        entries = new long[Math.max(capacity, 16)];
+    }
+
+    public static long pack(int key, int id) {
+        return ((long) key << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    public static int keyOf(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    public static int idOf(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Appends an entry without keeping the order; {@link #sort()} must be called before the next read.
+     */
+    public void append(int key, int id) {
+        ensureCapacity(size + 1);
+        entries[size++] = pack(key, id);
+    }
+
+    /**
+     * Restores the order after a series of {@link #append(int, int)} calls.
+     */
+    public void sort() {
+        Arrays.sort(entries, 0, size);
+    }
+
+    public void add(int key, int id) {
+        long entry = pack(key, id);
+        int position = Arrays.binarySearch(entries, 0, size, entry);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(entries, position, entries, position + 1, size - position);
+        entries[position] = entry;
+        size++;
+    }
+
+    public boolean remove(int key, int id) {
+        int position = Arrays.binarySearch(entries, 0, size, pack(key, id));
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(entries, position + 1, entries, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param rank position in ascending key order, from 0 to {@code size() - 1}.
+     * @return the packed entry at that rank.
+     */
+    public long get(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("rank " + rank + " out of " + size);
+        }
+        return entries[rank];
+    }
+
+    /**
+     * @return the rank of the first entry whose key is at least {@code key}, or {@code size()} when there is none.
+     */
+    public int lowerBound(int key) {
+        // id 0 packs to the smallest entry of a key, since ids are compared as unsigned low bits
+        int position = Arrays.binarySearch(entries, 0, size, pack(key, 0));
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * @return the rank of the first entry whose key is greater than {@code key}, or {@code size()} when there is none.
+     */
+    public int upperBound(int key) {
+        return key == Integer.MAX_VALUE ? size : lowerBound(key + 1);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(capacity, entries.length + (entries.length >> 1)));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.rqchallenge.employees;
+
+/**
+ * Token-bucket rate limiter that hands out reservations instead of blocking.
+ * <p>
+ * Tokens refill continuously at the configured rate up to the burst size. A caller that finds the bucket empty may
+ * still reserve a token ahead of time and is told how long to wait before using it, which lets asynchronous callers
+ * schedule the request rather than park a thread. Reservations that would wait longer than the caller is prepared to
+ * are refused and take nothing from the bucket.
+ */
+public class TokenBucket {
+    private final double tokensPerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param ratePerSecond sustained rate of tokens per second.
+     * @param burst         maximum number of tokens that can accumulate.
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Reserves one token.
+     *
+     * @param maxWaitNanos the longest the caller is prepared to wait for it.
+     * @return nanoseconds to wait before using the token, or -1 when it cannot be had within the maximum wait.
+     */
+    public synchronized long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        long waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+}
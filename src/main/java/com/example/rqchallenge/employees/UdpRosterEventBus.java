@@ -0,0 +1,114 @@
+package com.example.rqchallenge.employees;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link RosterEventBus} over UDP: every event is sent as one JSON datagram to each configured peer, and a daemon
+ * thread receives the peers' datagrams on the bound address. Meant for instances on one host or a trusted network,
+ * such as several instances on the loopback interface; no broker is involved, and datagrams that are lost stay lost.
+ */
+public class UdpRosterEventBus implements RosterEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(UdpRosterEventBus.class);
+    // an event is one employee and a few fields; creates cap names at Employee.MAX_NAME_BYTES to stay below this
+    static final int MAX_DATAGRAM_BYTES = 8192;
+
+    private final DatagramChannel channel;
+    private final List<InetSocketAddress> peers;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param bindAddress address to receive on; port 0 picks a free port.
+     * @param peers       addresses of the other instances.
+     */
+    public UdpRosterEventBus(InetSocketAddress bindAddress, List<InetSocketAddress> peers, ObjectMapper objectMapper) {
+        this.peers = peers;
+        this.objectMapper = objectMapper;
+        try {
+            channel = DatagramChannel.open().bind(bindAddress);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind roster event bus to " + bindAddress, e);
+        }
+    }
+
+    public InetSocketAddress getLocalAddress() {
+        try {
+            return (InetSocketAddress) channel.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void start(Consumer<RosterEvent> listener) {
+        Thread receiver = new Thread(() -> receive(listener), "roster-bus-udp");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public void publish(RosterEvent event) {
+        ByteBuffer datagram;
+        try {
+            datagram = ByteBuffer.wrap(objectMapper.writeValueAsBytes(event));
+        } catch (IOException e) {
+            logger.error("Failed to encode roster event {} for employee {}", event.getType(), event.getId(), e);
+            return;
+        }
+        // the receiver would get it cut off at its buffer size and drop it as malformed
+        if (datagram.remaining() > MAX_DATAGRAM_BYTES) {
+            throw new IllegalArgumentException("Roster event of " + datagram.remaining() + " bytes exceeds the "
+                    + MAX_DATAGRAM_BYTES + " bytes of a datagram");
+        }
+        for (InetSocketAddress peer : peers) {
+            try {
+                channel.send(datagram.duplicate(), peer);
+            } catch (IOException e) {
+                logger.warn("Failed to send roster event to {}: {}", peer, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close roster event bus: {}", e.getMessage());
+        }
+    }
+
+    private void receive(Consumer<RosterEvent> listener) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_BYTES);
+        while (channel.isOpen()) {
+            buffer.clear();
+            try {
+                channel.receive(buffer);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                logger.warn("Failed to receive roster event: {}", e.getMessage());
+                continue;
+            }
+            buffer.flip();
+            RosterEvent event;
+            try {
+                event = objectMapper.readValue(buffer.array(), 0, buffer.limit(), RosterEvent.class);
+            } catch (IOException e) {
+                logger.warn("Ignoring malformed roster event: {}", e.getMessage());
+                continue;
+            }
+            listener.accept(event);
+        }
+    }
+}
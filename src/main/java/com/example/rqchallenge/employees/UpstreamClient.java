@@ -0,0 +1,398 @@
+package com.example.rqchallenge.employees;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous facade over the upstream API used by the controller and the roster cache.
+ * <p>
+ * In {@code blocking} mode every call goes through {@link DummyService} on the calling thread and the returned future
+ * is already complete. In {@code reactive} mode calls go through {@link ReactiveDummyService} and complete on the
+ * HTTP client's event loop, so request threads are released while upstream I/O is in flight. The mode is chosen with
+ * {@code upstream.client.mode} so both paths can be compared under the same load.
+ * <p>
+ * Every call passes through the same resilience steps. A token bucket keeps the request rate within the upstream
+ * quota. Throttled and failed requests are retried with jittered exponential backoff, or after the delay the upstream
+ * asks for in {@code Retry-After}; creates are only retried when the upstream cannot have processed them. A circuit
+ * breaker fails calls fast while the upstream keeps failing. Error responses come back as a {@link ResponseEntity}
+ * with the upstream status rather than as a client exception, and deletes fail with a
+ * {@link ResponseStatusException}. Each attempt that reaches the upstream is timed through {@link UpstreamMetrics}.
+ * <p>
+ * With {@code upstream.hedge.enabled}, attempts of the idempotent GETs are hedged: an attempt still outstanding after
+ * its route's recent latency percentile gets a second, identical request, the first answer wins and the other request
+ * is cancelled. Hedges take a token from the rate limiter and are capped by a {@link HedgePolicy} budget. They apply
+ * in {@code reactive} mode only, since a blocking call has already completed by the time it could be hedged.
+ */
+@Component
+public class UpstreamClient {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamClient.class);
+
+    @Autowired
+    private DummyService dummyService;
+
+    @Autowired
+    private ReactiveDummyService reactiveDummyService;
+
+    @Autowired
+    private UpstreamMetrics upstreamMetrics;
+
+    @Value("${upstream.client.mode:blocking}")
+    private String mode;
+
+    @Value("${upstream.resilience.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${upstream.resilience.burst:20}")
+    private int burst;
+
+    @Value("${upstream.resilience.max-queue-wait-ms:2000}")
+    private long maxQueueWaitMillis;
+
+    @Value("${upstream.resilience.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${upstream.resilience.base-backoff-ms:100}")
+    private long baseBackoffMillis;
+
+    @Value("${upstream.resilience.max-backoff-ms:5000}")
+    private long maxBackoffMillis;
+
+    @Value("${upstream.resilience.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${upstream.resilience.breaker.open-ms:10000}")
+    private long breakerOpenMillis;
+
+    @Value("${upstream.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${upstream.hedge.percentile:95}")
+    private double hedgePercentile;
+
+    @Value("${upstream.hedge.min-delay-ms:5}")
+    private long hedgeMinDelayMillis;
+
+    @Value("${upstream.hedge.min-samples:20}")
+    private int hedgeMinSamples;
+
+    @Value("${upstream.hedge.window:1000}")
+    private int hedgeWindow;
+
+    @Value("${upstream.hedge.budget-percent:5}")
+    private double hedgeBudgetPercent;
+
+    private boolean reactive;
+    private TokenBucket rateLimiter;
+    private CircuitBreaker circuitBreaker;
+    private UpstreamMetrics.Operation getEmployeesOperation;
+    private UpstreamMetrics.Operation getEmployeeByIdOperation;
+    private UpstreamMetrics.Operation createEmployeeOperation;
+    private UpstreamMetrics.Operation deleteEmployeeOperation;
+    private HedgePolicy getEmployeesHedge;
+    private HedgePolicy getEmployeeByIdHedge;
+
+    @PostConstruct
+    void init() {
+        if (!"blocking".equalsIgnoreCase(mode) && !"reactive".equalsIgnoreCase(mode)) {
+            throw new IllegalStateException("upstream.client.mode must be blocking or reactive, was " + mode);
+        }
+        reactive = "reactive".equalsIgnoreCase(mode);
+        rateLimiter = new TokenBucket(ratePerSecond, burst);
+        circuitBreaker = new CircuitBreaker(breakerFailureThreshold, breakerOpenMillis);
+        getEmployeesOperation = upstreamMetrics.operation("getEmployees");
+        getEmployeeByIdOperation = upstreamMetrics.operation("getEmployeeById");
+        createEmployeeOperation = upstreamMetrics.operation("createEmployee");
+        deleteEmployeeOperation = upstreamMetrics.operation("deleteEmployee");
+        if (hedgeEnabled) {
+            getEmployeesHedge = hedgePolicy();
+            getEmployeeByIdHedge = hedgePolicy();
+        }
+    }
+
+    private HedgePolicy hedgePolicy() {
+        return new HedgePolicy(hedgePercentile, TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMillis), hedgeMinSamples,
+                hedgeWindow, hedgeBudgetPercent);
+    }
+
+    public CompletableFuture<ResponseEntity<EmployeeListResponse>> getEmployees() {
+        return execute(getEmployeesOperation, true, getEmployeesHedge,
+                () -> reactive ? reactiveDummyService.getEmployees().toFuture() : call(dummyService::getEmployees));
+    }
+
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> getEmployeeById(String id) {
+        return execute(getEmployeeByIdOperation, true, getEmployeeByIdHedge,
+                () -> reactive ? reactiveDummyService.getEmployeeById(id).toFuture() : call(() -> dummyService.getEmployeeById(id)));
+    }
+
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> createEmployee(Employee employee) {
+        return execute(createEmployeeOperation, false, null,
+                () -> reactive ? reactiveDummyService.createEmployee(employee).toFuture() : call(() -> dummyService.createEmployee(employee)));
+    }
+
+    public CompletableFuture<Void> deleteEmployee(String id) {
+        CompletableFuture<ResponseEntity<Void>> response = execute(deleteEmployeeOperation, true, null, () -> {
+            if (reactive) {
+                return reactiveDummyService.deleteEmployee(id).thenReturn(ResponseEntity.ok().<Void>build()).toFuture();
+            }
+            return call(() -> {
+                dummyService.deleteEmployee(id);
+                return ResponseEntity.ok().build();
+            });
+        });
+        return response.thenApply(entity -> {
+            if (!entity.getStatusCode().is2xxSuccessful()) {
+                throw new ResponseStatusException(entity.getStatusCode(), "Upstream failed to delete employee " + id);
+            }
+            return null;
+        });
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private static <T> CompletableFuture<T> call(Supplier<T> call) {
+        try {
+            return CompletableFuture.completedFuture(call.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs an upstream call through the rate limiter, circuit breaker and retry policy.
+     *
+     * @param operation  the call, for logging and metrics.
+     * @param idempotent whether the call may be repeated after a failure the upstream may have acted on.
+     * @param hedge      the route's hedge policy, or null when the call is not hedged.
+     * @param call       starts the call.
+     * @return a future completed with the final response; error statuses are returned, not thrown.
+     */
+    private <T> CompletableFuture<ResponseEntity<T>> execute(UpstreamMetrics.Operation operation, boolean idempotent,
+                                                             HedgePolicy hedge,
+                                                             Supplier<CompletableFuture<ResponseEntity<T>>> call) {
+        return attempt(operation, idempotent, hedge, call, 1);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> attempt(UpstreamMetrics.Operation operation, boolean idempotent,
+                                                             HedgePolicy hedge,
+                                                             Supplier<CompletableFuture<ResponseEntity<T>>> call, int attempt) {
+        if (!circuitBreaker.tryAcquire()) {
+            logger.warn("Upstream circuit open, failing {} fast", operation.getName());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, circuitBreaker.getRemainingOpenMillis() / 1000)))
+                    .build());
+        }
+        long waitNanos = rateLimiter.reserve(TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis));
+        if (waitNanos < 0) {
+            circuitBreaker.onIgnored();
+            operation.recordThrottledLocally();
+            logger.warn("Upstream rate limit reached, rejecting {}", operation.getName());
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS));
+        }
+        return after(waitNanos, () -> hedge == null ? start(operation, call) : startHedged(operation, hedge, call)).whenComplete((response, error) -> {
+            // the permit taken above must be given back on every path, or a half-open breaker never closes again
+            if (error == null) {
+                return;
+            }
+            if (error instanceof InterruptedException) {
+                circuitBreaker.onIgnored();
+            } else {
+                circuitBreaker.onFailure();
+            }
+        }).thenCompose(response -> {
+            HttpStatus status = response.getStatusCode();
+            boolean failure = status.is5xxServerError();
+            if (failure) {
+                circuitBreaker.onFailure();
+            } else if (status == HttpStatus.TOO_MANY_REQUESTS) {
+                circuitBreaker.onIgnored();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            boolean retryable = status == HttpStatus.TOO_MANY_REQUESTS || status == HttpStatus.SERVICE_UNAVAILABLE
+                    || (idempotent && failure);
+            if (!retryable || attempt >= maxAttempts) {
+                return CompletableFuture.completedFuture(response);
+            }
+            long delayMillis = retryDelayMillis(response.getHeaders(), attempt);
+            if (delayMillis < 0) {
+                logger.warn("Upstream asked to retry {} later than {} ms, giving up", operation.getName(), maxBackoffMillis);
+                return CompletableFuture.completedFuture(response);
+            }
+            logger.warn("Upstream answered {} with {}, retrying in {} ms", operation.getName(), status.value(), delayMillis);
+            return after(TimeUnit.MILLISECONDS.toNanos(delayMillis), () -> attempt(operation, idempotent, hedge, call, attempt + 1));
+        });
+    }
+
+    /**
+     * Starts a call and, if it is still outstanding once the hedge policy says so, a second identical one. The first
+     * response completes the returned future and the other request is cancelled.
+     */
+    private <T> CompletableFuture<ResponseEntity<T>> startHedged(UpstreamMetrics.Operation operation, HedgePolicy hedge,
+                                                                 Supplier<CompletableFuture<ResponseEntity<T>>> call) {
+        AtomicReference<CompletableFuture<ResponseEntity<T>>> primaryCall = new AtomicReference<>();
+        CompletableFuture<ResponseEntity<T>> primary = timed(hedge, start(operation, capture(call, primaryCall)));
+        long delayNanos = hedge.onCall();
+        if (delayNanos < 0 || primary.isDone()) {
+            return primary;
+        }
+        CompletableFuture<ResponseEntity<T>> result = new CompletableFuture<>();
+        primary.thenAccept(result::complete);
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone() || !hedge.tryAcquireHedge()) {
+                return;
+            }
+            if (rateLimiter.reserve(0) < 0) {
+                return;
+            }
+            operation.recordHedge();
+            AtomicReference<CompletableFuture<ResponseEntity<T>>> hedgeCall = new AtomicReference<>();
+            CompletableFuture<ResponseEntity<T>> hedged = timed(hedge, start(operation, capture(call, hedgeCall)));
+            hedged.thenAccept(response -> {
+                if (response != null && result.complete(response)) {
+                    operation.recordHedgeWin();
+                    cancel(primaryCall);
+                }
+            });
+            result.thenRun(() -> cancel(hedgeCall));
+        });
+        return result;
+    }
+
+    private static <T> Supplier<CompletableFuture<ResponseEntity<T>>> capture(
+            Supplier<CompletableFuture<ResponseEntity<T>>> call, AtomicReference<CompletableFuture<ResponseEntity<T>>> started) {
+        return () -> {
+            CompletableFuture<ResponseEntity<T>> future = call.get();
+            started.set(future);
+            return future;
+        };
+    }
+
+    private static void cancel(AtomicReference<? extends CompletableFuture<?>> started) {
+        CompletableFuture<?> future = started.get();
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Feeds the latency of a completed call, not of a cancelled one, to the hedge policy.
+     */
+    private static <T> CompletableFuture<ResponseEntity<T>> timed(HedgePolicy hedge, CompletableFuture<ResponseEntity<T>> response) {
+        long startNanos = System.nanoTime();
+        return response.thenApply(entity -> {
+            if (entity != null) {
+                hedge.record(System.nanoTime() - startNanos);
+            }
+            return entity;
+        });
+    }
+
+    /**
+     * Starts a call, turns upstream error responses and I/O failures into responses with a matching status and
+     * records the call's latency. A call cancelled after losing to its hedge completes with null and is not recorded.
+     */
+    private static <T> CompletableFuture<ResponseEntity<T>> start(UpstreamMetrics.Operation operation,
+                                                                  Supplier<CompletableFuture<ResponseEntity<T>>> call) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<ResponseEntity<T>> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                return null;
+            }
+            if (cause instanceof RestClientResponseException) {
+                RestClientResponseException responseException = (RestClientResponseException) cause;
+                return ResponseEntity.status(responseException.getRawStatusCode())
+                        .headers(responseException.getResponseHeaders())
+                        .build();
+            }
+            if (cause instanceof WebClientResponseException) {
+                WebClientResponseException responseException = (WebClientResponseException) cause;
+                return ResponseEntity.status(responseException.getRawStatusCode())
+                        .headers(responseException.getHeaders())
+                        .build();
+            }
+            logger.error("Upstream request failed: {}", cause.toString());
+            return new ResponseEntity<T>(HttpStatus.BAD_GATEWAY);
+        }).thenApply(entity -> {
+            if (entity != null) {
+                operation.record(entity.getStatusCodeValue(), System.nanoTime() - startNanos);
+            }
+            return entity;
+        });
+    }
+
+    /**
+     * @return the delay before the next attempt in milliseconds, or -1 when the upstream asks for more than the
+     * maximum backoff.
+     */
+    private long retryDelayMillis(HttpHeaders headers, int attempt) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            long delayMillis;
+            try {
+                delayMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                try {
+                    delayMillis = headers.getFirstDate(HttpHeaders.RETRY_AFTER) - System.currentTimeMillis();
+                } catch (IllegalArgumentException invalidDate) {
+                    delayMillis = 0;
+                }
+            }
+            if (delayMillis > maxBackoffMillis) {
+                return -1;
+            }
+            if (delayMillis > 0) {
+                return delayMillis;
+            }
+        }
+        // full jitter: uniformly random up to the exponential bound
+        long bound = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    /**
+     * Runs the action after the delay: on the calling thread in blocking mode, on a timer thread in reactive mode.
+     */
+    private <T> CompletableFuture<T> after(long delayNanos, Supplier<CompletableFuture<T>> action) {
+        if (delayNanos <= 0) {
+            return action.get();
+        }
+        if (!reactive) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(e);
+            }
+            return action.get();
+        }
+        return CompletableFuture.supplyAsync(action, CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS))
+                .thenCompose(future -> future);
+    }
+}
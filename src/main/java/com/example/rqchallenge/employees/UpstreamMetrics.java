@@ -0,0 +1,118 @@
+package com.example.rqchallenge.employees;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Meters for upstream calls: an {@code upstream.requests} timer per operation and status, an {@code upstream.errors}
+ * counter for server errors and failed connections, and an {@code upstream.throttled} counter for requests refused
+ * with 429, whether by the upstream or by the local rate limiter. Hedged calls count their extra requests in
+ * {@code upstream.hedges} and the hedges that answered first in {@code upstream.hedge.wins}.
+ * <p>
+ * Meters are looked up once per operation and status and then reused, so recording a call allocates nothing.
+ * Percentile histograms are turned on through {@code management.metrics.distribution.percentiles-histogram.*}.
+ */
+@Component
+public class UpstreamMetrics {
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public UpstreamMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Operation operation(String name) {
+        return new Operation(name);
+    }
+
+    /**
+     * Meters of one upstream operation.
+     */
+    public final class Operation {
+        private final String name;
+        private final AtomicReferenceArray<Timer> timersByStatus = new AtomicReferenceArray<>(600);
+        private final Counter errors;
+        private final Counter throttledUpstream;
+        private final Counter throttledLocally;
+        private final Counter hedges;
+        private final Counter hedgeWins;
+
+        private Operation(String name) {
+            this.name = name;
+            errors = Counter.builder("upstream.errors").tag("operation", name)
+                    .description("Upstream calls that failed with a server error or no response").register(meterRegistry);
+            throttledUpstream = Counter.builder("upstream.throttled").tags("operation", name, "source", "upstream")
+                    .description("Upstream calls refused with 429").register(meterRegistry);
+            throttledLocally = Counter.builder("upstream.throttled").tags("operation", name, "source", "local")
+                    .description("Upstream calls refused with 429").register(meterRegistry);
+            hedges = Counter.builder("upstream.hedges").tag("operation", name)
+                    .description("Second requests sent for slow upstream calls").register(meterRegistry);
+            hedgeWins = Counter.builder("upstream.hedge.wins").tag("operation", name)
+                    .description("Hedge requests that answered before the original").register(meterRegistry);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Records an upstream call that completed with the given status.
+         */
+        public void record(int status, long durationNanos) {
+            timer(status).record(durationNanos, TimeUnit.NANOSECONDS);
+            if (status >= 500) {
+                errors.increment();
+            } else if (status == 429) {
+                throttledUpstream.increment();
+            }
+        }
+
+        /**
+         * Records a call refused by the local rate limiter without reaching the upstream.
+         */
+        public void recordThrottledLocally() {
+            throttledLocally.increment();
+        }
+
+        public void recordHedge() {
+            hedges.increment();
+        }
+
+        public void recordHedgeWin() {
+            hedgeWins.increment();
+        }
+
+        private Timer timer(int status) {
+            int slot = status >= 100 && status < 600 ? status : 0;
+            Timer timer = timersByStatus.get(slot);
+            if (timer == null) {
+                // registering twice yields the same meter, so racing threads agree
+                timer = Timer.builder("upstream.requests")
+                        .tags("operation", name, "status", Integer.toString(status), "outcome", outcome(status))
+                        .description("Upstream call latency, per attempt")
+                        .register(meterRegistry);
+                timersByStatus.set(slot, timer);
+            }
+            return timer;
+        }
+
+        private String outcome(int status) {
+            if (status >= 500) {
+                return "SERVER_ERROR";
+            }
+            if (status >= 400) {
+                return "CLIENT_ERROR";
+            }
+            if (status >= 300) {
+                return "REDIRECTION";
+            }
+            return status >= 200 ? "SUCCESS" : "UNKNOWN";
+        }
+    }
+}
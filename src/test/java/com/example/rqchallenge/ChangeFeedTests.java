@@ -0,0 +1,137 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "employees.delete.reconcile-delay-ms=600000")
+@AutoConfigureMockMvc
+class ChangeFeedTests {
+    private static UpstreamStub upstream;
+
+    @Autowired
+    private EmployeeControllerImpl employeeController;
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private RosterChangeFeed changeFeed;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void loadRoster() {
+        rosterCache.invalidate();
+        rosterCache.getRoster();
+    }
+
+    @Test
+    void testLocalChangesAreStreamed() throws Exception {
+        MvcResult stream = subscribe(null);
+
+        employeeController.deleteEmployeeById("7").join();
+
+        String events = awaitContent(stream, "event:deleted");
+        assertTrue(events.contains("\"type\":\"DELETED\",\"id\":7"), events);
+        assertFalse(events.contains("event:created"), events);
+    }
+
+    @Test
+    void testReconnectResumesAfterLastEventId() throws Exception {
+        MvcResult first = subscribe(null);
+        employeeController.deleteEmployeeById("8").join();
+        employeeController.deleteEmployeeById("9").join();
+        String events = awaitContent(first, "\"id\":9");
+        Matcher seq = Pattern.compile("id:([0-9a-z]+-\\d+)\\nevent:deleted\\ndata:\\{\"seq\":\\d+,\"type\":\"DELETED\",\"id\":8}").matcher(events);
+        assertTrue(seq.find(), events);
+
+        MvcResult resumed = subscribe(seq.group(1));
+
+        String replayed = awaitContent(resumed, "\"id\":9");
+        assertFalse(replayed.contains("\"id\":8"), replayed);
+    }
+
+    @Test
+    void testRosterDiffsAreStreamed() throws Exception {
+        MvcResult stream = subscribe(null);
+
+        changeFeed.publishDiff(
+                new Roster(Arrays.asList(RosterTests.employee(1, "A", 100, 20), RosterTests.employee(2, "B", 200, 30),
+                        RosterTests.employee(4, "Same", 400, 50), RosterTests.employee(5, "Old Name", 500, 60))),
+                new Roster(Arrays.asList(RosterTests.employee(1, "A", 150, 20), RosterTests.employee(3, "C", 300, 40),
+                        RosterTests.employee(4, "Same", 400, 50), RosterTests.employee(5, "New Name", 500, 60))),
+                Collections.emptySet());
+
+        String events = awaitContent(stream, "event:deleted");
+        assertTrue(events.contains("event:updated"), events);
+        assertTrue(events.contains("\"employee_name\":\"C\""), events);
+        assertTrue(events.contains("\"employee_name\":\"New Name\""), events);
+        assertFalse(events.contains("\"employee_name\":\"Same\""), events);
+        assertTrue(events.indexOf("event:updated") < events.indexOf("event:created"), events);
+    }
+
+    @Test
+    void testUnknownLastEventIdResets() throws Exception {
+        MvcResult stream = subscribe("999999999");
+
+        assertTrue(awaitContent(stream, "event:reset").startsWith("id:"));
+        assertTrue(changeFeed.getSubscriberCount() > 0);
+    }
+
+    @Test
+    void testLastEventIdOfAnotherEpochResets() throws Exception {
+        MvcResult first = subscribe(null);
+        employeeController.deleteEmployeeById("10").join();
+        Matcher id = Pattern.compile("id:[0-9a-z]+-(\\d+)").matcher(awaitContent(first, "\"id\":10"));
+        assertTrue(id.find());
+
+        // the same sequence number as issued before a restart, which drew another epoch
+        MvcResult stream = subscribe("previous-" + id.group(1));
+
+        assertTrue(awaitContent(stream, "event:reset").startsWith("id:"));
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        return mockMvc.perform(lastEventId == null ? get("/employees/changes") : get("/employees/changes").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+}
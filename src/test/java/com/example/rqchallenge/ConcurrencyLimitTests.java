@@ -0,0 +1,128 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"employees.limiter.initial-limit=2", "employees.limiter.min-limit=1",
+        "employees.limiter.max-limit=2", "employees.delete.reconcile-delay-ms=600000"})
+@AutoConfigureMockMvc
+class ConcurrencyLimitTests {
+    private static final String NEW_EMPLOYEE_JSON = "{\"name\":\"newName\",\"salary\":100000,\"age\":31}";
+
+    @MockBean
+    private DummyService dummyServiceMock;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testLimitGrowsWhileLatencyIsSteady() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, 2.0);
+
+        for (int round = 0; round < 20; round++) {
+            runRound(limit, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertTrue(limit.getLimit() > 10, "limit " + limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void testLimitShrinksAsLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 100, 2.0);
+        for (int round = 0; round < 5; round++) {
+            runRound(limit, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int steady = limit.getLimit();
+
+        runRound(limit, TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertTrue(limit.getLimit() < steady / 2, "limit " + limit.getLimit() + " after " + steady);
+        assertTrue(limit.getLimit() >= 2);
+    }
+
+    @Test
+    void testSlowWritesAreShedWithoutStarvingReads() throws Exception {
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
+        when(dummyServiceMock.createEmployee(any())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            Employee employee = invocation.getArgument(0);
+            employee.setId(25);
+            EmployeeResponse response = new EmployeeResponse();
+            response.setStatus("success");
+            response.setData(employee);
+            return ResponseEntity.ok(response);
+        });
+        double rejectedBefore = rejected("writes");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<MvcResult>> slowCreates = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                slowCreates.add(executor.submit(() -> complete(createRequest())));
+            }
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+            mockMvc.perform(createRequest())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+            assertEquals(1, rejected("writes") - rejectedBefore);
+            assertEquals("725000", complete(get("/employees/highestSalary")).getResponse().getContentAsString());
+
+            release.countDown();
+            for (Future<MvcResult> slowCreate : slowCreates) {
+                assertEquals(200, slowCreate.get(10, TimeUnit.SECONDS).getResponse().getStatus());
+            }
+            assertEquals(200, complete(createRequest()).getResponse().getStatus());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void runRound(AdaptiveConcurrencyLimit limit, long latencyNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(latencyNanos, true);
+        }
+    }
+
+    private MockHttpServletRequestBuilder createRequest() {
+        return post("/employees").contentType(MediaType.APPLICATION_JSON).content(NEW_EMPLOYEE_JSON);
+    }
+
+    private MvcResult complete(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result)).andReturn();
+    }
+
+    private double rejected(String endpointClass) {
+        return meterRegistry.get("employees.limiter.rejected").tag("class", endpointClass).counter().count();
+    }
+}
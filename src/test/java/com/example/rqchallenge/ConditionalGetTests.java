@@ -0,0 +1,128 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+    private static UpstreamStub upstream;
+
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void loadRoster() {
+        rosterCache.invalidate();
+        rosterCache.getRoster();
+        upstream.getRequests().clear();
+    }
+
+    @Test
+    void testUnchangedRosterIsNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/employees/highestSalary"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("725000"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.matches("\"[0-9a-f]{32}\""), etag);
+
+        mockMvc.perform(get("/employees/highestSalary").header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        assertTrue(upstream.getRequests().isEmpty());
+    }
+
+    @Test
+    void testCompressedBodiesMatchTheSerializedRoster() throws Exception {
+        byte[] expected = objectMapper.writeValueAsBytes(rosterCache.getEmployees());
+
+        MvcResult gzip = mockMvc.perform(get("/employees").header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        assertArrayEquals(expected, new GZIPInputStream(new ByteArrayInputStream(gzip.getResponse().getContentAsByteArray())).readAllBytes());
+        assertTrue(gzip.getResponse().getContentLength() < expected.length);
+
+        MvcResult deflate = mockMvc.perform(get("/employees").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "deflate"))
+                .andReturn();
+        assertArrayEquals(expected, new InflaterInputStream(new ByteArrayInputStream(deflate.getResponse().getContentAsByteArray())).readAllBytes());
+        assertNotEquals(gzip.getResponse().getHeader(HttpHeaders.ETAG), deflate.getResponse().getHeader(HttpHeaders.ETAG));
+
+        MvcResult identity = mockMvc.perform(get("/employees")).andReturn();
+        assertArrayEquals(expected, identity.getResponse().getContentAsByteArray());
+        mockMvc.perform(get("/employees").header(HttpHeaders.IF_NONE_MATCH, gzip.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testChangedRosterGetsNewEtag() throws Exception {
+        String etag = mockMvc.perform(get("/employees/topTenHighestEarningEmployeeNames"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        rosterCache.applyDeleted("17");
+
+        MvcResult changed = mockMvc.perform(get("/employees/topTenHighestEarningEmployeeNames").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(etag, changed.getResponse().getHeader(HttpHeaders.ETAG));
+        assertFalse(changed.getResponse().getContentAsString(StandardCharsets.UTF_8).contains("Paul Byrd"));
+    }
+
+    @Test
+    void testStatsAreServedPerRosterVersion() throws Exception {
+        MvcResult first = mockMvc.perform(get("/employees/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(24))
+                .andExpect(jsonPath("$.maxSalary").value(725000))
+                .andExpect(jsonPath("$.ageBands[6].count").value(6))
+                .andReturn();
+
+        rosterCache.applyDeleted("17");
+
+        mockMvc.perform(get("/employees/stats").header(HttpHeaders.IF_NONE_MATCH, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(23))
+                .andExpect(jsonPath("$.maxSalary").value(675000))
+                .andExpect(jsonPath("$.ageBands[6].count").value(5));
+        assertTrue(upstream.getRequests().isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"employees.delete.reconcile-delay-ms=0", "employees.delete.reconcile-interval-ms=50",
+        "employees.delete.reconcile-max-attempts=2"})
+@AutoConfigureMockMvc
+class DeleteReconcilerTests {
+    private static UpstreamStub upstream;
+
+    @Autowired
+    private EmployeeControllerImpl employeeController;
+    @Autowired
+    private DeleteReconciler deleteReconciler;
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void reset() {
+        rosterCache.invalidate();
+    }
+
+    private DeletionStatus awaitSettled(int id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            DeletionStatus status = deleteReconciler.getStatus(id);
+            if (status != null && status.getState() != DeletionStatus.State.PENDING) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        fail("delete of " + id + " was not reconciled");
+        return null;
+    }
+
+    @Test
+    void testDeleteThatDidNotStickIsRestored() throws Exception {
+        assertNotNull(rosterCache.getRoster().getEmployee(1));
+
+        // the stub keeps listing the record after the delete, like the real dummy API
+        ResponseEntity<String> response = employeeController.deleteEmployeeById("1").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        DeletionStatus status = awaitSettled(1);
+        assertEquals(DeletionStatus.State.RESTORED, status.getState());
+        assertEquals(2, status.getAttempts());
+        assertEquals("Tiger Nixon", rosterCache.getRoster().getEmployee(1).getEmployee_name());
+    }
+
+    @Test
+    void testDeleteMissingFromListingIsConfirmed() throws Exception {
+        ResponseEntity<String> response = employeeController.deleteEmployeeById("99").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(DeletionStatus.State.CONFIRMED, awaitSettled(99).getState());
+        mockMvc.perform(get("/employees/99/deletion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(99))
+                .andExpect(jsonPath("$.state").value("CONFIRMED"));
+    }
+
+    @Test
+    void testUnknownDeletionStatusIsNotFound() throws Exception {
+        mockMvc.perform(get("/employees/12345/deletion")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/employees/abc/deletion")).andExpect(status().isBadRequest());
+    }
+}
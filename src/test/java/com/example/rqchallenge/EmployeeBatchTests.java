@@ -0,0 +1,105 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "employees.batch.max-concurrency=4")
+@AutoConfigureMockMvc
+class EmployeeBatchTests {
+    private static UpstreamStub upstream;
+
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        upstream.echoCreates(50);
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void reset() {
+        rosterCache.invalidate();
+        upstream.getRequests().clear();
+    }
+
+    private static String item(String name) {
+        return "{\"name\":\"" + name + "\",\"salary\":1000000,\"age\":30}";
+    }
+
+    @Test
+    void testJsonArrayIsCreatedWithBoundedConcurrency() throws Exception {
+        assertEquals(24, rosterCache.getRoster().size());
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 12; i++) {
+            body.add(item("Hire " + i));
+        }
+
+        MvcResult result = mockMvc.perform(post("/employees/batch").contentType(MediaType.APPLICATION_JSON).content(body.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(12))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[11].employee.employee_name").value("Hire 11"));
+        assertEquals(12, upstream.getRequests().stream().filter("POST /api/v1/create"::equals).count());
+        assertTrue(upstream.getMaxConcurrentCreates() > 1);
+        assertTrue(upstream.getMaxConcurrentCreates() <= 4);
+        assertEquals(36, rosterCache.getRoster().size());
+        assertEquals(1, rosterCache.getRoster().findByNameContaining("Hire 11", 10).size());
+    }
+
+    @Test
+    void testNdjsonItemsReportTheirOwnOutcome() throws Exception {
+        String body = item("Accepted") + "\n{\"name\":\"Missing Salary\",\"age\":30}\n" + item("reject") + "\n";
+
+        MvcResult result = mockMvc.perform(post("/employees/batch").contentType("application/x-ndjson").content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].employee").doesNotExist())
+                .andExpect(jsonPath("$[2].status").value(500));
+        assertEquals(2, upstream.getRequests().size());
+    }
+
+    @Test
+    void testMalformedBatchIsRejected() throws Exception {
+        MvcResult result = mockMvc.perform(post("/employees/batch").contentType(MediaType.APPLICATION_JSON).content("[{\"name\":"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+        assertTrue(upstream.getRequests().isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeColumnsTests {
+
+    @Test
+    void testRowsMaterializeTheStoredEmployee() {
+        EmployeeColumns columns = new EmployeeColumns(2);
+        Employee employee = RosterTests.employee(7, "Zoë Ünal", 120000, 41);
+        employee.setProfile_image("https://example.com/7.png");
+
+        int row = columns.put(employee);
+        Employee materialized = columns.materialize(row);
+
+        assertEquals(row, columns.rowOf(7));
+        assertEquals(-1, columns.rowOf(8));
+        assertEquals(7, materialized.getId());
+        assertEquals("Zoë Ünal", materialized.getEmployee_name());
+        assertEquals(120000, materialized.getEmployee_salary());
+        assertEquals(41, materialized.getEmployee_age());
+        assertEquals("https://example.com/7.png", materialized.getProfile_image());
+    }
+
+    @Test
+    void testPutOverwritesExistingIdInPlace() {
+        EmployeeColumns columns = new EmployeeColumns(4);
+        columns.put(RosterTests.employee(1, "A", 100, 20));
+        columns.put(RosterTests.employee(2, "B", 200, 30));
+
+        int row = columns.put(RosterTests.employee(1, "Renamed", 300, 21));
+
+        assertEquals(0, row);
+        assertEquals(2, columns.size());
+        assertEquals("Renamed", columns.getName(0));
+        assertEquals(300, columns.getSalary(0));
+    }
+
+    @Test
+    void testRepeatedUpsertsDoNotGrowNames() {
+        EmployeeColumns columns = new EmployeeColumns(100);
+        for (int id = 1; id <= 100; id++) {
+            columns.put(RosterTests.employee(id, "Employee " + id, id, 30));
+        }
+        long initialBytes = columns.estimatedBytes();
+
+        for (int round = 0; round < 1000; round++) {
+            for (int id = 1; id <= 100; id++) {
+                String name = (round % 2 == 0 ? "Renamed employee " : "E ") + id;
+                columns.put(RosterTests.employee(id, name, id, 30));
+            }
+        }
+
+        assertEquals(100, columns.size());
+        assertEquals(6, columns.rowOf(7));
+        assertEquals("E 7", columns.getName(6));
+        assertTrue(columns.estimatedBytes() < initialBytes * 4, columns.estimatedBytes() + " bytes after upserts, " + initialBytes + " before");
+    }
+
+    @Test
+    void testCopyIsUnaffectedByLaterChanges() {
+        EmployeeColumns columns = new EmployeeColumns(4);
+        for (int id = 1; id <= 40; id++) {
+            columns.put(RosterTests.employee(id, "Employee " + id, id, 30));
+        }
+        columns.remove(3);
+
+        EmployeeColumns copy = columns.copy();
+        for (int id = 4; id <= 40; id++) {
+            columns.remove(id);
+        }
+        columns.put(RosterTests.employee(1, "Renamed", 1, 30));
+
+        assertEquals(39, copy.size());
+        assertEquals("Employee 1", copy.getName(copy.rowOf(1)));
+        assertEquals(-1, copy.rowOf(3));
+        assertEquals("Employee 40", copy.getName(copy.rowOf(40)));
+    }
+
+    @Test
+    void testRemoveKeepsOrderThroughCompaction() {
+        EmployeeColumns columns = new EmployeeColumns(16);
+        for (int id = 1; id <= 1000; id++) {
+            columns.put(RosterTests.employee(id * 7919, "Employee " + id, id, 30));
+        }
+
+        for (int id = 1; id <= 1000; id += 2) {
+            assertTrue(columns.remove(id * 7919));
+        }
+        assertFalse(columns.remove(7919));
+
+        assertEquals(500, columns.size());
+        List<Integer> remaining = new ArrayList<>();
+        for (int row = 0; row < columns.rowCount(); row++) {
+            if (columns.isLive(row)) {
+                remaining.add(columns.getId(row));
+                assertEquals(row, columns.rowOf(columns.getId(row)));
+            }
+        }
+        assertEquals(500, remaining.size());
+        for (int i = 0; i < remaining.size(); i++) {
+            assertEquals((i + 1) * 2 * 7919, remaining.get(i));
+            assertEquals("Employee " + (i + 1) * 2, columns.getName(columns.rowOf(remaining.get(i))));
+        }
+    }
+
+    @Test
+    void testFootprintIsSmallerThanEmployeeList() {
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 1; id <= 100_000; id++) {
+            employees.add(RosterTests.employee(id, String.format("Employee %05d", id), 50_000 + id, 20 + id % 45));
+        }
+        EmployeeColumns columns = new EmployeeColumns(employees.size());
+        employees.forEach(columns::put);
+
+        long columnBytes = columns.estimatedBytes();
+        long listBytes = EmployeeColumns.estimatedListBytes(employees);
+
+        assertTrue(columnBytes * 10 < listBytes * 6, columnBytes + " bytes as columns, " + listBytes + " as a list");
+    }
+}
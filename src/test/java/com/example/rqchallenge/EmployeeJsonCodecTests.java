@@ -0,0 +1,73 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeJsonCodecTests {
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ObjectMapper codecMapper = new ObjectMapper().registerModule(EmployeeJsonCodec.module());
+
+    @Test
+    void testNumbersAreReadFromStringsAndNumbers() throws Exception {
+        String json = "{\"status\":\"success\",\"data\":[{\"id\":\"1\",\"employee_name\":\"Tiger Nixon\",\"employee_salary\":\"320800\",\"employee_age\":\" 61 \",\"profile_image\":\"\"},"
+                + "{\"id\":2,\"employee_name\":\"Garrett Winters\",\"employee_salary\":170750,\"employee_age\":\"\",\"profile_image\":\"\",\"extra\":{\"a\":[1]}},"
+                + "{\"id\":\"-2147483648\",\"employee_name\":null,\"employee_salary\":null,\"employee_age\":63.7,\"profile_image\":null}],\"message\":\"ok\"}";
+
+        EmployeeListResponse response = codecMapper.readValue(json, EmployeeListResponse.class);
+
+        assertEquals("success", response.getStatus());
+        assertEquals("ok", response.getMessage());
+        Employee first = response.getData().get(0);
+        assertEquals(1, first.getId());
+        assertEquals(320800, first.getEmployee_salary());
+        assertEquals(61, first.getEmployee_age());
+        assertEquals(0, response.getData().get(1).getEmployee_age());
+        Employee third = response.getData().get(2);
+        assertEquals(Integer.MIN_VALUE, third.getId());
+        assertNull(third.getEmployee_name());
+        assertEquals(63, third.getEmployee_age());
+        assertNull(third.getProfile_image());
+    }
+
+    @Test
+    void testInvalidNumbersAreRejected() {
+        assertThrows(JsonMappingException.class, () -> codecMapper.readValue("{\"id\":\"12a\"}", Employee.class));
+        assertThrows(JsonMappingException.class, () -> codecMapper.readValue("{\"id\":\"2147483648\"}", Employee.class));
+        assertThrows(JsonMappingException.class, () -> codecMapper.readValue("{\"id\":\"-\"}", Employee.class));
+    }
+
+    @Test
+    void testRepeatedProfileImagesShareOneInstance() throws Exception {
+        String json = "{\"data\":[{\"id\":1,\"profile_image\":\"\"},{\"id\":2,\"profile_image\":\"\"},"
+                + "{\"id\":3,\"profile_image\":\"a.png\"},{\"id\":4,\"profile_image\":\"a.png\"}]}";
+
+        EmployeeListResponse response = codecMapper.readValue(json, EmployeeListResponse.class);
+
+        assertSame(response.getData().get(0).getProfile_image(), response.getData().get(1).getProfile_image());
+        assertEquals("a.png", response.getData().get(2).getProfile_image());
+        assertSame(response.getData().get(2).getProfile_image(), response.getData().get(3).getProfile_image());
+    }
+
+    @Test
+    void testOutputMatchesDefaultBinding() throws Exception {
+        EmployeeListResponse list = TestHelper.getAllEmployeesResponse().getBody();
+        list.getData().get(0).setEmployee_name("Quote \" and é");
+        list.getData().get(1).setProfile_image(null);
+        EmployeeResponse single = TestHelper.getEmployeeOneResponse().getBody();
+
+        assertEquals(defaultMapper.writeValueAsString(list), codecMapper.writeValueAsString(list));
+        assertEquals(defaultMapper.writeValueAsString(single), codecMapper.writeValueAsString(single));
+        assertEquals(defaultMapper.writeValueAsString(list.getData()), codecMapper.writeValueAsString(list.getData()));
+        assertEquals(defaultMapper.writeValueAsString(Arrays.asList(null, new BatchItemResult(0, 200, list.getData().get(2), null))),
+                codecMapper.writeValueAsString(Arrays.asList(null, new BatchItemResult(0, 200, list.getData().get(2), null))));
+
+        EmployeeListResponse roundTrip = codecMapper.readValue(codecMapper.writeValueAsBytes(list), EmployeeListResponse.class);
+        assertEquals(defaultMapper.writeValueAsString(list), defaultMapper.writeValueAsString(roundTrip));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "employees.loader.batch-window-ms=50")
+@AutoConfigureMockMvc
+class EmployeeLoaderTests {
+    private static UpstreamStub upstream;
+    private static List<String> requests;
+
+    @Autowired
+    private EmployeeControllerImpl employeeController;
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        requests = upstream.getRequests();
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void reset() {
+        rosterCache.invalidate();
+        requests.clear();
+    }
+
+    @Test
+    void testConcurrentLookupsOfOneIdShareOneUpstreamCall() {
+        List<CompletableFuture<ResponseEntity<Employee>>> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            responses.add(employeeController.getEmployeeById("1"));
+        }
+
+        for (CompletableFuture<ResponseEntity<Employee>> response : responses) {
+            assertEquals("Tiger Nixon", response.join().getBody().getEmployee_name());
+        }
+        assertEquals(Collections.singletonList("GET /api/v1/employee/1"), requests);
+    }
+
+    @Test
+    void testLookupsAreServedFromFreshRoster() {
+        rosterCache.getRoster();
+        requests.clear();
+
+        ResponseEntity<Employee> response = employeeController.getEmployeeById("3").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Ashton Cox", response.getBody().getEmployee_name());
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void testMultiGetReturnsEmployeesInRequestOrder() throws Exception {
+        rosterCache.getRoster();
+        requests.clear();
+
+        MvcResult result = mockMvc.perform(get("/employees").param("ids", "3,1,3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].employee_name").value("Ashton Cox"))
+                .andExpect(jsonPath("$[1].employee_name").value("Tiger Nixon"));
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void testMultiGetRejectsInvalidIds() throws Exception {
+        MvcResult result = mockMvc.perform(get("/employees").param("ids", "1,abc"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+        assertTrue(requests.isEmpty());
+    }
+}
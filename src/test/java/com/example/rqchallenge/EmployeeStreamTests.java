@@ -0,0 +1,161 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeStreamTests {
+    private static UpstreamStub upstream;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EmployeeStreamWriter employeeStreamWriter;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void reset() {
+        rosterCache.invalidate();
+        upstream.getRequests().clear();
+    }
+
+    private String stream(String query) throws Exception {
+        return streamFrom("/employees/stream" + query);
+    }
+
+    private String streamFrom(String uri) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private List<Integer> ndjsonIds(String body) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            ids.add(objectMapper.readValue(line, Employee.class).getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void testStreamsWholeRosterAsNdjsonFromUpstream() throws Exception {
+        String body = stream("");
+
+        assertEquals(24, body.split("\n").length);
+        assertEquals(1, ndjsonIds(body).get(0));
+        assertEquals(Collections.singletonList("GET /api/v1/employees"), upstream.getRequests());
+    }
+
+    @Test
+    void testCursorPagination() throws Exception {
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), ndjsonIds(stream("?limit=5")));
+        assertEquals(Arrays.asList(6, 7, 8, 9, 10), ndjsonIds(stream("?cursor=5&limit=5")));
+        assertEquals(Arrays.asList(23, 24), ndjsonIds(stream("?cursor=22&limit=5")));
+        assertEquals("", stream("?cursor=24&limit=5"));
+    }
+
+    @Test
+    void testCursorOnEmployeesListStreamsNextPage() throws Exception {
+        assertEquals(Arrays.asList(6, 7, 8, 9, 10), ndjsonIds(streamFrom("/employees?cursor=5&limit=5")));
+        assertEquals(Arrays.asList(23, 24), ndjsonIds(streamFrom("/employees?cursor=22")));
+    }
+
+    @Test
+    void testStreamsJsonArray() throws Exception {
+        List<Employee> employees = objectMapper.readValue(stream("?format=json&cursor=20"), new TypeReference<List<Employee>>() {
+        });
+
+        assertEquals(Arrays.asList(21, 22, 23, 24), employees.stream().map(Employee::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStreamsFromCachedRosterWithoutUpstreamCall() throws Exception {
+        rosterCache.getRoster();
+        upstream.getRequests().clear();
+
+        assertEquals(Arrays.asList(3, 4), ndjsonIds(stream("?cursor=2&limit=2")));
+        assertTrue(upstream.getRequests().isEmpty());
+    }
+
+    @Test
+    void testStreamContinuesPastEmployeeDeletedMidStream() throws Exception {
+        rosterCache.getRoster();
+        List<Employee> hires = new ArrayList<>();
+        for (int id = 1000; id < 1600; id++) {
+            hires.add(RosterTests.employee(id, "Hire " + id, 50000, 30));
+        }
+        rosterCache.applyCreated(hires);
+        // the first flush comes after the first chunk of 256, the last of which is hire 1231
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            private boolean deleted;
+
+            @Override
+            public void flush() {
+                if (!deleted) {
+                    deleted = true;
+                    rosterCache.applyDeleted("1231");
+                }
+            }
+        };
+
+        employeeStreamWriter.write(out, true, null, null);
+
+        List<Integer> ids = ndjsonIds(out.toString());
+        assertEquals(624, ids.size());
+        assertEquals(1231, ids.get(255));
+        assertEquals(1599, ids.get(623));
+    }
+
+    @Test
+    void testCursorOfDeletedEmployeeResumesAfterIt() throws Exception {
+        rosterCache.getRoster();
+        rosterCache.applyDeleted("5");
+
+        assertEquals(Arrays.asList(6, 7), ndjsonIds(stream("?cursor=5&limit=2")));
+    }
+
+    @Test
+    void testRejectsInvalidParameters() throws Exception {
+        mockMvc.perform(get("/employees/stream?limit=0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/employees/stream?format=xml")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/employees/stream?cursor=abc")).andExpect(status().isBadRequest());
+    }
+}
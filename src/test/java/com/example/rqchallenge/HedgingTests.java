@@ -0,0 +1,102 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the stub slows down whichever request reaches it first, so the hedge waits long enough for the original to get there
+@SpringBootTest(properties = {"upstream.client.mode=reactive", "upstream.resilience.rate-per-second=1000",
+        "upstream.hedge.enabled=true", "upstream.hedge.percentile=50", "upstream.hedge.min-samples=5",
+        "upstream.hedge.min-delay-ms=50", "upstream.hedge.budget-percent=100"})
+class HedgingTests {
+    private static UpstreamStub upstream;
+    private static List<String> requests;
+
+    @Autowired
+    private UpstreamClient upstreamClient;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        requests = upstream.getRequests();
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void warmUp() {
+        for (int i = 0; i < 10; i++) {
+            upstreamClient.getEmployeeById("1").join();
+        }
+        requests.clear();
+    }
+
+    @Test
+    void testSlowCallIsAnsweredByHedge() throws InterruptedException {
+        double wins = hedgeWins();
+        upstream.slowNext(1, 3000);
+        long started = System.nanoTime();
+
+        ResponseEntity<EmployeeResponse> response = upstreamClient.getEmployeeById("1").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Tiger Nixon", response.getBody().getData().getEmployee_name());
+        assertTrue(System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(2000));
+        assertEquals(2, requests.size());
+        // the win is counted right after the response is handed over
+        long deadline = System.currentTimeMillis() + 1000;
+        while (hedgeWins() == wins && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(wins + 1, hedgeWins());
+    }
+
+    private double hedgeWins() {
+        return meterRegistry.get("upstream.hedge.wins").tag("operation", "getEmployeeById").counter().count();
+    }
+
+    @Test
+    void testCreatesAreNotHedged() {
+        upstream.slowNext(1, 300);
+
+        upstreamClient.createEmployee(RosterTests.employee(0, "newName", 100000, 31)).join();
+
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testHedgePolicyFollowsPercentileAndBudget() {
+        HedgePolicy policy = new HedgePolicy(90, 0, 10, 100, 10);
+        assertEquals(-1, policy.onCall());
+        for (int millis = 1; millis <= 10; millis++) {
+            policy.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(9), policy.onCall());
+        assertFalse(policy.tryAcquireHedge());
+        for (int i = 0; i < 8; i++) {
+            policy.onCall();
+        }
+        assertTrue(policy.tryAcquireHedge());
+        assertFalse(policy.tryAcquireHedge());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "upstream.resilience.max-attempts=1")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MetricsTests {
+    private static UpstreamStub upstream;
+
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void reset() {
+        rosterCache.invalidate();
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    void testEndpointAndUpstreamCallsAreTimed() throws Exception {
+        MvcResult result = mockMvc.perform(get("/employees/highestSalary")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        String metrics = scrape();
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{exception=\"None\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/employees/highestSalary\""), metrics);
+        assertTrue(metrics.contains("upstream_requests_seconds_bucket{operation=\"getEmployees\",outcome=\"SUCCESS\",status=\"200\""), metrics);
+        assertTrue(metrics.contains("http_server_response_size_bytes_count{uri=\"/employees/highestSalary\",}"), metrics);
+        assertTrue(metrics.contains("roster_employees 24.0"), metrics);
+    }
+
+    @Test
+    void testUpstreamErrorsAndThrottlingAreCounted() throws Exception {
+        upstream.failNext(1, 429, null);
+        MvcResult throttled = mockMvc.perform(get("/employees/1")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(throttled)).andExpect(status().isTooManyRequests());
+        upstream.failNext(1, 500, null);
+        MvcResult failed = mockMvc.perform(get("/employees/1")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(failed)).andExpect(status().isInternalServerError());
+
+        String metrics = scrape();
+        assertTrue(metrics.contains("upstream_throttled_total{operation=\"getEmployeeById\",source=\"upstream\",} 1.0"), metrics);
+        assertTrue(metrics.contains("upstream_errors_total{operation=\"getEmployeeById\",} 1.0"), metrics);
+        assertTrue(metrics.contains("upstream_requests_seconds_count{operation=\"getEmployeeById\",outcome=\"SERVER_ERROR\",status=\"500\",} 1.0"), metrics);
+    }
+}
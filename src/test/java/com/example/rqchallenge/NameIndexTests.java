@@ -0,0 +1,99 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.NameIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTests {
+
+    private final Map<Integer, String> names = new HashMap<>();
+
+    private NameIndex index(String... initialNames) {
+        NameIndex index = new NameIndex(names::get);
+        for (int i = 0; i < initialNames.length; i++) {
+            add(index, i + 1, initialNames[i]);
+        }
+        return index;
+    }
+
+    private void add(NameIndex index, int id, String name) {
+        names.put(id, name);
+        index.add(id, name);
+    }
+
+    private void remove(NameIndex index, int id) {
+        index.remove(id, names.get(id));
+        names.remove(id);
+    }
+
+    @Test
+    void testContainsIsCaseInsensitive() {
+        NameIndex index = index("Tiger Nixon", "Garrett Winters", "Ashton Cox", "Dai Rios");
+
+        assertEquals(Collections.singletonList(1), index.findContaining("NIXON", 10));
+        assertEquals(Collections.singletonList(1), index.findContaining("tiger nixon", 10));
+        // too short to index, scanned in name order
+        assertEquals(Arrays.asList(3, 2, 1), index.findContaining("t", 10));
+        assertTrue(index.findContaining("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void testTrigramCandidatesAreVerified() {
+        NameIndex index = index("abcd bcde", "abcde");
+
+        // both names contain every trigram of "abcde", only one contains it contiguously
+        assertEquals(Collections.singletonList(2), index.findContaining("abcde", 10));
+    }
+
+    @Test
+    void testPrefixSearch() {
+        NameIndex index = index("Bradley Greer", "Brielle Williamson", "Caesar Vance", "brian");
+
+        assertEquals(Arrays.asList(4, 2), index.findByPrefix("bri", 10));
+        assertEquals(Arrays.asList(1, 4), index.findByPrefix("BR", 2));
+        assertTrue(index.findByPrefix("Z", 10).isEmpty());
+    }
+
+    @Test
+    void testAddAndRemovePatchTheIndex() {
+        NameIndex index = index("Tiger Nixon", "Garrett Winters");
+
+        add(index, 3, "Nixon Junior");
+        remove(index, 1);
+        remove(index, 2);
+        add(index, 2, "Renamed Person");
+
+        assertEquals(Collections.singletonList(3), index.findContaining("nixon", 10));
+        assertEquals(Collections.singletonList(3), index.findByPrefix("nix", 10));
+        assertTrue(index.findContaining("winters", 10).isEmpty());
+        assertEquals(Collections.singletonList(2), index.findByPrefix("renamed", 10));
+    }
+
+    @Test
+    void testBulkLoadMatchesIncrementalAdds() {
+        names.put(1, "Caesar Vance");
+        names.put(2, "brian");
+        names.put(3, "Bradley Greer");
+        NameIndex index = new NameIndex(names::get);
+
+        index.addAll(new int[]{1, 2, 3, 4}, new String[]{"Caesar Vance", "brian", "Bradley Greer", null});
+
+        assertEquals(Arrays.asList(3, 2), index.findByPrefix("br", 10));
+        assertEquals(Collections.singletonList(1), index.findContaining("vance", 10));
+    }
+
+    @Test
+    void testLimitOnLargeRoster() {
+        NameIndex index = index();
+        for (int id = 1; id <= 200_000; id++) {
+            add(index, id, "Employee " + id);
+        }
+
+        assertEquals(Arrays.asList(123_456), index.findContaining("yee 123456", 10));
+        assertEquals(5, index.findContaining("employee", 5).size());
+        assertEquals(Arrays.asList(199_999), index.findByPrefix("employee 199999", 10));
+    }
+}
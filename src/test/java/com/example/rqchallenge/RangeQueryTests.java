@@ -0,0 +1,83 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RangeQueryTests {
+    private static UpstreamStub upstream;
+
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void loadRoster() {
+        rosterCache.invalidate();
+        rosterCache.getRoster();
+    }
+
+    @Test
+    void testRangeIsOrderedAndPaged() throws Exception {
+        perform(get("/employees").param("minSalary", "300000").param("sort", "salary").param("order", "desc")
+                .param("limit", "2").param("offset", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].employee_name").value("Yuri Berry"))
+                .andExpect(jsonPath("$[1].employee_name").value("Charde Marshall"));
+    }
+
+    @Test
+    void testAgeRangeIsOrderedByAge() throws Exception {
+        perform(get("/employees").param("minAge", "60").param("sort", "age"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].employee_age").value(contains(61, 61, 63, 64, 66, 66)));
+    }
+
+    @Test
+    void testUnfilteredRequestStillListsAllEmployees() throws Exception {
+        mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(24));
+    }
+
+    @Test
+    void testInvalidOrderingIsRejected() throws Exception {
+        perform(get("/employees").param("sort", "name")).andExpect(status().isBadRequest());
+        perform(get("/employees").param("offset", "-1")).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
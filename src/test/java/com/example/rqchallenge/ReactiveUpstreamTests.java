@@ -0,0 +1,106 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"upstream.client.mode=reactive", "employees.delete.reconcile-delay-ms=600000"})
+@AutoConfigureMockMvc
+class ReactiveUpstreamTests {
+    private static UpstreamStub upstream;
+    private static List<String> requests;
+
+    @Autowired
+    private EmployeeControllerImpl employeeController;
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        requests = upstream.getRequests();
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void reset() {
+        rosterCache.invalidate();
+        requests.clear();
+    }
+
+    @Test
+    void testGetAllEmployees() {
+        ResponseEntity<List<Employee>> response = employeeController.getAllEmployees().join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(24, response.getBody().size());
+        assertEquals(725000, employeeController.getHighestSalaryOfEmployees().join().getBody());
+        assertEquals(Collections.singletonList("GET /api/v1/employees"), requests);
+    }
+
+    @Test
+    void testEndpointsAreServedAsynchronously() throws Exception {
+        MvcResult result = mockMvc.perform(get("/employees/topHighestEarningEmployeeNames?limit=2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Paul Byrd\",\"Yuri Berry\"]"));
+    }
+
+    @Test
+    void testGetEmployeeById() {
+        ResponseEntity<Employee> response = employeeController.getEmployeeById("1").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Tiger Nixon", response.getBody().getEmployee_name());
+        assertEquals(Collections.singletonList("GET /api/v1/employee/1"), requests);
+    }
+
+    @Test
+    void testCreateEmployee() {
+        Map<String, Object> employeeInput = new HashMap<>();
+        employeeInput.put("name", "newName");
+        employeeInput.put("salary", 100000);
+        employeeInput.put("age", 31);
+
+        ResponseEntity<Employee> response = employeeController.createEmployee(employeeInput).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(25, response.getBody().getId());
+        assertEquals(Collections.singletonList("POST /api/v1/create"), requests);
+    }
+
+    @Test
+    void testDeleteReturnsOnceUpstreamAcknowledges() {
+        ResponseEntity<String> response = employeeController.deleteEmployeeById("1").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Collections.singletonList("DELETE /api/v1/delete/1"), requests);
+    }
+}
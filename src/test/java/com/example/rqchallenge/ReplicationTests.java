@@ -0,0 +1,227 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs several instances in one JVM, each in its own application context, against a shared upstream stub.
+ */
+class ReplicationTests {
+    private static UpstreamStub upstream;
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startServer() {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        upstream.echoCreates(0);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void testCreatesAndDeletesReachInProcessPeers() throws Exception {
+        String channel = "channel-" + UUID.randomUUID();
+        ConfigurableApplicationContext a = startNode("employees.bus.type=in-process", "employees.bus.channel=" + channel);
+        ConfigurableApplicationContext b = startNode("employees.bus.type=in-process", "employees.bus.channel=" + channel);
+
+        assertCreatesAndDeletesReach(a, b);
+    }
+
+    @Test
+    void testCreatesAndDeletesReachUdpPeers() throws Exception {
+        int portA = freeUdpPort();
+        int portB = freeUdpPort();
+        ConfigurableApplicationContext a = startNode("employees.bus.type=udp", "employees.bus.udp.port=" + portA,
+                "employees.bus.udp.peers=127.0.0.1:" + portB);
+        ConfigurableApplicationContext b = startNode("employees.bus.type=udp", "employees.bus.udp.port=" + portB,
+                "employees.bus.udp.peers=127.0.0.1:" + portA);
+
+        assertCreatesAndDeletesReach(a, b);
+    }
+
+    @Test
+    void testLatestVersionWinsWhateverTheOrder() {
+        String channel = "channel-" + UUID.randomUUID();
+        ConfigurableApplicationContext a = startNode("employees.bus.type=in-process", "employees.bus.channel=" + channel);
+        Roster roster = a.getBean(RosterCache.class).getRoster();
+        InProcessRosterEventBus peer = new InProcessRosterEventBus(channel);
+        peer.start(event -> {
+        });
+        try {
+            Employee employee = RosterTests.employee(30, "Late Arrival", 100000, 40);
+            peer.publish(new RosterEvent("peer", 2, 5, RosterEvent.Type.DELETED, 30, null));
+            peer.publish(new RosterEvent("peer", 1, 3, RosterEvent.Type.CREATED, 30, employee));
+            peer.publish(new RosterEvent("peer", 3, 6, RosterEvent.Type.CREATED, 31, RosterTests.employee(31, "Twice", 90000, 30)));
+            peer.publish(new RosterEvent("peer", 3, 6, RosterEvent.Type.CREATED, 31, RosterTests.employee(31, "Twice", 90000, 30)));
+
+            assertNull(roster.getEmployee(30));
+            assertNotNull(roster.getEmployee(31));
+            MeterRegistry meterRegistry = a.getBean(MeterRegistry.class);
+            assertEquals(2, meterRegistry.get("employees.bus.events").tag("outcome", "applied").counter().count());
+            assertEquals(2, meterRegistry.get("employees.bus.events").tag("outcome", "superseded").counter().count());
+        } finally {
+            peer.close();
+        }
+    }
+
+    @Test
+    void testOnlyTheDeletingInstanceVerifiesAndPeersApplyTheOutcome() throws Exception {
+        String channel = "channel-" + UUID.randomUUID();
+        String[] properties = {"employees.bus.type=in-process", "employees.bus.channel=" + channel,
+                "employees.delete.reconcile-delay-ms=0", "employees.delete.reconcile-interval-ms=50",
+                "employees.delete.reconcile-max-attempts=1"};
+        ConfigurableApplicationContext a = startNode(properties);
+        ConfigurableApplicationContext b = startNode(properties);
+        Roster rosterB = b.getBean(RosterCache.class).getRoster();
+
+        // the stub keeps listing employee 5, so the delete is found not to have taken effect
+        assertEquals(HttpStatus.OK, a.getBean(EmployeeControllerImpl.class).deleteEmployeeById("5").join().getStatusCode());
+        await(() -> a.getBean(DeleteReconciler.class).getStatus(5).getState() == DeletionStatus.State.RESTORED);
+
+        await(() -> rosterB.getEmployee(5) != null);
+        assertNull(b.getBean(DeleteReconciler.class).getStatus(5));
+    }
+
+    @Test
+    void testRemoteDeleteSettlesWhenItsOutcomeIsLost() throws Exception {
+        String channel = "channel-" + UUID.randomUUID();
+        ConfigurableApplicationContext a = startNode("employees.bus.type=in-process", "employees.bus.channel=" + channel,
+                "employees.delete.reconcile-delay-ms=100", "employees.delete.reconcile-interval-ms=50",
+                "employees.delete.reconcile-max-attempts=1", "roster.cache.ttl-ms=0");
+        RosterCache rosterCache = a.getBean(RosterCache.class);
+        RosterReplicator replicator = a.getBean(RosterReplicator.class);
+        rosterCache.getRoster();
+        InProcessRosterEventBus peer = new InProcessRosterEventBus(channel);
+        peer.start(event -> {
+        });
+        try {
+            // the SETTLED that would follow never arrives
+            peer.publish(new RosterEvent("peer", 1, 1, RosterEvent.Type.DELETED, 6, null));
+            assertEquals(1, replicator.getRemoteDeleteCount());
+            assertNull(rosterCache.getRoster().getEmployee(6));
+
+            await(() -> replicator.getRemoteDeleteCount() == 0);
+            // the stub still lists employee 6, so the next refresh brings it back
+            await(() -> rosterCache.getRoster().getEmployee(6) != null);
+        } finally {
+            peer.close();
+        }
+    }
+
+    @Test
+    void testVersionsAreForgottenAfterRetention() throws Exception {
+        String channel = "channel-" + UUID.randomUUID();
+        ConfigurableApplicationContext a = startNode("employees.bus.type=in-process", "employees.bus.channel=" + channel,
+                "employees.bus.stamp-retention-ms=100");
+        a.getBean(RosterCache.class).getRoster();
+        RosterReplicator replicator = a.getBean(RosterReplicator.class);
+        InProcessRosterEventBus peer = new InProcessRosterEventBus(channel);
+        peer.start(event -> {
+        });
+        try {
+            peer.publish(new RosterEvent("peer", 1, 1, RosterEvent.Type.CREATED, 40, RosterTests.employee(40, "Short Lived", 1000, 30)));
+            assertEquals(1, replicator.getStampCount());
+
+            await(() -> replicator.getStampCount() == 0);
+        } finally {
+            peer.close();
+        }
+    }
+
+    @Test
+    void testOversizedEventIsNotSentOverUdp() {
+        UdpRosterEventBus bus = new UdpRosterEventBus(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                List.of(new InetSocketAddress(InetAddress.getLoopbackAddress(), 9)), new ObjectMapper());
+        try {
+            Employee employee = RosterTests.employee(50, "\u0001".repeat(Employee.MAX_NAME_BYTES), 1000, 30);
+            bus.publish(new RosterEvent("peer", 1, 1, RosterEvent.Type.CREATED, 50, employee));
+
+            Employee oversized = RosterTests.employee(51, "n".repeat(9000), 1000, 30);
+            assertThrows(IllegalArgumentException.class,
+                    () -> bus.publish(new RosterEvent("peer", 2, 2, RosterEvent.Type.CREATED, 51, oversized)));
+        } finally {
+            bus.close();
+        }
+    }
+
+    private void assertCreatesAndDeletesReach(ConfigurableApplicationContext a, ConfigurableApplicationContext b) throws Exception {
+        Roster rosterB = b.getBean(RosterCache.class).getRoster();
+        EmployeeControllerImpl controllerA = a.getBean(EmployeeControllerImpl.class);
+        EmployeeControllerImpl controllerB = b.getBean(EmployeeControllerImpl.class);
+
+        ResponseEntity<Employee> created = controllerA.createEmployee(Map.of("name", "Replicated", "salary", 123456, "age", 33)).join();
+        assertEquals(HttpStatus.OK, created.getStatusCode());
+        int id = created.getBody().getId();
+        await(() -> rosterB.getEmployee(id) != null);
+
+        ResponseEntity<Employee> found = controllerB.getEmployeeById(Integer.toString(id)).join();
+        assertEquals(HttpStatus.OK, found.getStatusCode());
+        assertEquals("Replicated", found.getBody().getEmployee_name());
+        assertFalse(upstream.getRequests().contains("GET /api/v1/employee/" + id));
+
+        assertEquals(HttpStatus.OK, controllerA.deleteEmployeeById(Integer.toString(id)).join().getStatusCode());
+        await(() -> rosterB.getEmployee(id) == null);
+    }
+
+    private ConfigurableApplicationContext startNode(String... properties) {
+        List<String> args = new ArrayList<>();
+        args.add("--upstream.base-url=" + upstream.getBaseUrl());
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        // repeated arguments are joined rather than overridden
+        if (args.stream().noneMatch(arg -> arg.startsWith("--employees.delete.reconcile-delay-ms="))) {
+            args.add("--employees.delete.reconcile-delay-ms=600000");
+        }
+        // command line arguments take precedence over application.properties
+        ConfigurableApplicationContext node = new SpringApplicationBuilder(RqChallengeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+        nodes.add(node);
+        return node;
+    }
+
+    private static int freeUdpPort() throws SocketException {
+        try (DatagramSocket socket = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {"roster.cache.ttl-ms=200", "roster.cache.stale-while-revalidate-ms=400", "upstream.resilience.max-attempts=1"})
+class RosterCacheTests {
+    @MockBean
+    private DummyService dummyServiceMock;
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private EmployeeControllerImpl employeeController;
+
+    @BeforeEach
+    void clearRosterCache() {
+        rosterCache.invalidate();
+    }
+
+    @Test
+    void testRepeatedReadsHitCache() {
+        when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
+
+        assertEquals(HttpStatus.OK, employeeController.getAllEmployees().join().getStatusCode());
+        assertEquals(HttpStatus.OK, employeeController.getHighestSalaryOfEmployees().join().getStatusCode());
+        assertEquals(HttpStatus.OK, employeeController.getTopTenHighestEarningEmployeeNames().join().getStatusCode());
+        assertEquals(HttpStatus.OK, employeeController.getEmployeesByNameSearch("Tiger Nixon").join().getStatusCode());
+
+        verify(dummyServiceMock, times(1)).getEmployees();
+    }
+
+    @Test
+    void testStaleRosterIsServedWhileRevalidating() throws InterruptedException {
+        when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
+        Roster first = rosterCache.getRoster();
+
+        Thread.sleep(300); // past the TTL, inside the stale-while-revalidate window
+
+        assertSame(first, rosterCache.getRoster());
+        verify(dummyServiceMock, timeout(1000).times(2)).getEmployees();
+    }
+
+    @Test
+    void testExpiredRosterIsReloaded() throws InterruptedException {
+        when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
+        Roster first = rosterCache.getRoster();
+
+        Thread.sleep(700); // past the TTL and the stale-while-revalidate window
+
+        assertNotSame(first, rosterCache.getRoster());
+        verify(dummyServiceMock, times(2)).getEmployees();
+    }
+
+    @Test
+    void testExpiredRosterIsServedWhenReloadFails() throws InterruptedException {
+        when(dummyServiceMock.getEmployees())
+                .thenReturn(TestHelper.getAllEmployeesResponse())
+                .thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+        Roster first = rosterCache.getRoster();
+
+        Thread.sleep(700); // past the TTL and the stale-while-revalidate window
+
+        assertSame(first, rosterCache.getRoster());
+        verify(dummyServiceMock, times(2)).getEmployees();
+    }
+
+    @Test
+    void testConcurrentMissesShareOneUpstreamFetch() throws Exception {
+        when(dummyServiceMock.getEmployees()).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return TestHelper.getAllEmployeesResponse();
+        });
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<Employee>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(rosterCache::getEmployees));
+            }
+            for (Future<List<Employee>> result : results) {
+                assertEquals(24, result.get(5, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(dummyServiceMock, times(1)).getEmployees();
+    }
+
+    @Test
+    void testCreateDuringRefreshSurvivesTheSwap() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(dummyServiceMock.getEmployees())
+                .thenReturn(TestHelper.getAllEmployeesResponse())
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return TestHelper.getAllEmployeesResponse();
+                });
+        Roster first = rosterCache.getRoster();
+
+        Thread.sleep(300); // past the TTL, so that the next read starts a background refresh
+        rosterCache.getRoster();
+        verify(dummyServiceMock, timeout(1000).times(2)).getEmployees();
+        rosterCache.applyCreated(RosterTests.employee(99, "New Hire", 1000, 30));
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (rosterCache.peekStale() == first && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotSame(first, rosterCache.peekStale());
+        assertEquals("New Hire", rosterCache.peekStale().getEmployee(99).getEmployee_name());
+        assertEquals(25, rosterCache.peekStale().size());
+    }
+
+    @Test
+    void testFailedFetchIsNotCached() {
+        when(dummyServiceMock.getEmployees())
+                .thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn(TestHelper.getAllEmployeesResponse());
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, rosterCache::getEmployees);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        assertEquals(24, rosterCache.getEmployees().size());
+        verify(dummyServiceMock, times(2)).getEmployees();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterStoreTests {
+    private Path directory;
+    private RosterStore store;
+
+    @BeforeEach
+    void openStore() throws IOException {
+        directory = Files.createTempDirectory("roster-store");
+        store = open(10);
+    }
+
+    @AfterEach
+    void closeStore() throws IOException {
+        store.close();
+    }
+
+    private RosterStore open(int compactAfter) throws IOException {
+        RosterStore opened = new RosterStore(directory.toString(), compactAfter);
+        opened.open();
+        return opened;
+    }
+
+    private RosterStore reopen() throws IOException {
+        store.close();
+        store = open(10);
+        return store;
+    }
+
+    @Test
+    void testNoSnapshotLoadsNothing() {
+        assertNull(store.load());
+        assertNull(new RosterStore("", 10).load());
+    }
+
+    @Test
+    void testSnapshotAndLogAreReplayedOnRestart() throws IOException {
+        store.writeSnapshot(new Roster(TestHelper.getAllEmployeesResponse().getBody().getData()));
+        store.appendCreated(RosterTests.employee(25, "New Hire", 900000, 30));
+        store.appendDeleted(1);
+
+        Roster roster = reopen().load();
+
+        assertEquals(24, roster.size());
+        assertNull(roster.getEmployee(1));
+        assertEquals("New Hire", roster.getEmployee(25).getEmployee_name());
+        assertEquals(900000, roster.getHighestSalary());
+        assertEquals("Garrett Winters", roster.getEmployee(2).getEmployee_name());
+        assertEquals("", roster.getEmployee(2).getProfile_image());
+    }
+
+    @Test
+    void testTornLogRecordIsCutOff() throws IOException {
+        store.writeSnapshot(new Roster(Collections.emptyList()));
+        store.appendCreated(RosterTests.employee(1, "Complete", 100, 20));
+        Files.write(directory.resolve("roster.log"), new byte[]{'C', 0, 0}, StandardOpenOption.APPEND);
+
+        assertEquals(1, reopen().load().size());
+
+        store.appendCreated(RosterTests.employee(2, "After Crash", 200, 30));
+        Roster roster = reopen().load();
+        assertEquals(2, roster.size());
+        assertEquals("After Crash", roster.getEmployee(2).getEmployee_name());
+    }
+
+    @Test
+    void testSnapshotTruncatesLogOnceCompactionIsDue() throws IOException {
+        store.close();
+        store = open(2);
+        store.writeSnapshot(new Roster(Collections.emptyList()));
+
+        assertFalse(store.appendCreated(RosterTests.employee(1, "A", 100, 20)));
+        assertTrue(store.appendCreated(RosterTests.employee(2, "B", 200, 30)));
+        store.writeSnapshot(store.load());
+
+        assertEquals(0, Files.size(directory.resolve("roster.log")));
+        assertEquals(2, reopen().load().size());
+    }
+
+    @Test
+    void testChangesLoggedAfterTheCopyOutliveTheSnapshot() throws IOException {
+        store.writeSnapshot(new Roster(Collections.emptyList()));
+        assertFalse(store.needsCompaction());
+        store.appendCreated(RosterTests.employee(1, "In Copy", 100, 20));
+        Roster roster = store.load();
+        EmployeeColumns copy = roster.copyColumns();
+        long position = store.getLogPosition();
+        store.appendCreated(RosterTests.employee(2, "After Copy", 200, 30));
+        store.appendDeleted(1);
+
+        store.writeSnapshot(copy, position);
+
+        Roster reloaded = reopen().load();
+        assertEquals(1, reloaded.size());
+        assertNull(reloaded.getEmployee(1));
+        assertEquals("After Copy", reloaded.getEmployee(2).getEmployee_name());
+    }
+
+    @Test
+    void testUnknownSnapshotFormatIsIgnored() throws IOException {
+        Files.write(directory.resolve("roster.snapshot"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        assertNull(store.load());
+    }
+}
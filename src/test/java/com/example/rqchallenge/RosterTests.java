@@ -0,0 +1,162 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterTests {
+
+    static Employee employee(int id, String name, int salary, int age) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployee_name(name);
+        employee.setEmployee_salary(salary);
+        employee.setEmployee_age(age);
+        employee.setProfile_image("");
+        return employee;
+    }
+
+    @Test
+    void testSalaryAggregatesFollowCreatesAndDeletes() {
+        Roster roster = new Roster(TestHelper.getAllEmployeesResponse().getBody().getData());
+        assertEquals(725000, roster.getHighestSalary());
+        assertEquals(Arrays.asList("Paul Byrd", "Yuri Berry", "Charde Marshall"), roster.getTopEarnerNames(3));
+
+        roster.add(employee(25, "New Hire", 900000, 30));
+        assertEquals(900000, roster.getHighestSalary());
+        assertEquals(Arrays.asList("New Hire", "Paul Byrd"), roster.getTopEarnerNames(2));
+
+        roster.remove(25);
+        roster.remove(17);
+        assertEquals(675000, roster.getHighestSalary());
+        assertEquals(Arrays.asList("Yuri Berry", "Charde Marshall"), roster.getTopEarnerNames(2));
+        assertEquals(23, roster.size());
+    }
+
+    @Test
+    void testReplacingEmployeeMovesSalaryEntry() {
+        Roster roster = new Roster(Arrays.asList(employee(1, "A", 100, 20), employee(2, "B", 200, 30)));
+
+        roster.add(employee(1, "A", 300, 20));
+
+        assertEquals(Arrays.asList("A", "B"), roster.getTopEarnerNames(10));
+        assertEquals(2, roster.size());
+    }
+
+    @Test
+    void testReplacingEmployeeReindexesName() {
+        Roster roster = new Roster(Arrays.asList(employee(1, "Tiger Nixon", 100, 20), employee(2, "B", 200, 30)));
+
+        roster.add(employee(1, "Renamed Person", 100, 20));
+
+        assertTrue(roster.findByNameContaining("nixon", 10).isEmpty());
+        assertEquals("Renamed Person", roster.findByNamePrefix("ren", 10).get(0).getEmployee_name());
+        assertEquals("Renamed Person", roster.getEmployee(1).getEmployee_name());
+    }
+
+    @Test
+    void testPagesFollowUpstreamOrderAcrossDeletes() {
+        Roster roster = new Roster(TestHelper.getAllEmployeesResponse().getBody().getData());
+        roster.remove(3);
+
+        List<Employee> first = roster.getPage(null, 3);
+        List<Employee> second = roster.getPage(first.get(2).getId(), 3);
+
+        assertEquals(Arrays.asList(1, 2, 4), Arrays.asList(first.get(0).getId(), first.get(1).getId(), first.get(2).getId()));
+        assertEquals(5, second.get(0).getId());
+        assertTrue(roster.getPage(24, 10).isEmpty());
+    }
+
+    @Test
+    void testPageAfterDeletedCursorResumesAtItsPosition() {
+        Roster roster = new Roster(TestHelper.getAllEmployeesResponse().getBody().getData());
+
+        List<Employee> first = roster.getPage(null, 3);
+        roster.remove(first.get(2).getId());
+        assertEquals(Arrays.asList(4, 5), ids(roster.getPage(3, 2)));
+
+        // enough deletes to compact the deleted rows away
+        for (int id = 4; id <= 21; id++) {
+            roster.remove(id);
+        }
+        assertEquals(Arrays.asList(22, 23), ids(roster.getPage(3, 2)));
+        assertEquals(Arrays.asList(22, 23), ids(roster.getPage(21, 2)));
+    }
+
+    @Test
+    void testRangeQueriesFollowCreatesAndDeletes() {
+        Roster roster = new Roster(Arrays.asList(employee(1, "A", 100, 40), employee(2, "B", 300, 20),
+                employee(3, "C", 200, 30), employee(4, "D", 200, 50)));
+
+        assertEquals(Arrays.asList(3, 4, 2), ids(roster.findInRange(150, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, false, false, 0, 10)));
+        assertEquals(Arrays.asList(4, 1), ids(roster.findInRange(Integer.MIN_VALUE, Integer.MAX_VALUE, 35, 60, true, true, 0, 10)));
+        assertEquals(Collections.singletonList(4), ids(roster.findInRange(200, 200, 35, Integer.MAX_VALUE, false, false, 0, 10)));
+        assertEquals(Collections.singletonList(4), ids(roster.findInRange(Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, false, false, 2, 1)));
+        assertTrue(roster.findInRange(300, 100, Integer.MIN_VALUE, Integer.MAX_VALUE, false, false, 0, 10).isEmpty());
+
+        roster.add(employee(5, "E", 250, 45));
+        roster.remove(4);
+        roster.add(employee(1, "A", 400, 40));
+
+        assertEquals(Arrays.asList(1, 2, 5, 3), ids(roster.findInRange(Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, false, true, 0, 10)));
+        assertEquals(Arrays.asList(5, 1), ids(roster.findInRange(Integer.MIN_VALUE, Integer.MAX_VALUE, 35, Integer.MAX_VALUE, true, true, 0, 10)));
+        assertEquals(Collections.singletonList(1), ids(roster.findInRange(Integer.MIN_VALUE, Integer.MAX_VALUE, 35, Integer.MAX_VALUE, false, true, 0, 1)));
+        assertEquals(Collections.singletonList(5), ids(roster.findInRange(Integer.MIN_VALUE, Integer.MAX_VALUE, 35, Integer.MAX_VALUE, false, true, 1, 1)));
+    }
+
+    @Test
+    void testStatsFollowCreatesAndDeletes() {
+        Roster roster = new Roster(Arrays.asList(employee(1, "A", 100000, 25), employee(2, "B", 200000, 35),
+                employee(3, "C", 300000, 35), employee(4, "D", 400000, 45)));
+
+        EmployeeStats stats = roster.getStats();
+        assertEquals(4, stats.getCount());
+        assertEquals(250000, stats.getMeanSalary());
+        assertEquals(200000, stats.getMedianSalary());
+        assertEquals(100000, stats.getSalaryPercentiles().get("p25"));
+        assertEquals(400000, stats.getSalaryPercentiles().get("p99"));
+        EmployeeStats.AgeBand thirties = stats.getAgeBands().get(3);
+        assertEquals(30, thirties.getMinAge());
+        assertEquals(39, thirties.getMaxAge());
+        assertEquals(2, thirties.getCount());
+        assertEquals(250000, thirties.getMeanSalary());
+        assertEquals(1, thirties.getSalaryHistogram().get(4));
+        assertEquals(1, thirties.getSalaryHistogram().get(6));
+
+        roster.remove(3);
+        roster.add(employee(5, "E", 2000000, 70));
+
+        stats = roster.getStats();
+        assertEquals(675000, stats.getMeanSalary());
+        assertEquals(2000000, stats.getMaxSalary());
+        assertEquals(1, stats.getAgeBands().get(3).getCount());
+        assertEquals(1, stats.getAgeBands().get(7).getSalaryHistogram().get(SalaryHistograms.SALARY_BUCKETS - 1));
+        assertTrue(new Roster(Collections.emptyList()).getStats().getSalaryPercentiles().isEmpty());
+    }
+
+    private static List<Integer> ids(List<Employee> employees) {
+        List<Integer> ids = new ArrayList<>();
+        for (Employee employee : employees) {
+            ids.add(employee.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void testEmptyRoster() {
+        Roster roster = new Roster(Collections.emptyList());
+
+        assertEquals(0, roster.getHighestSalary());
+        assertTrue(roster.getTopEarnerNames(10).isEmpty());
+    }
+
+    @Test
+    void testEmployeesViewIsUnmodifiable() {
+        Roster roster = new Roster(TestHelper.getAllEmployeesResponse().getBody().getData());
+
+        assertThrows(UnsupportedOperationException.class, () -> roster.getEmployees().clear());
+    }
+}
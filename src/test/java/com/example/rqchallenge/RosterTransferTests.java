@@ -0,0 +1,199 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"roster.transfer.import-concurrency=2", "roster.transfer.checkpoint-every=3",
+        "upstream.resilience.max-attempts=1", "upstream.resilience.rate-per-second=1000", "upstream.resilience.burst=1000"})
+@AutoConfigureMockMvc
+class RosterTransferTests {
+    private static UpstreamStub upstream;
+    private static Path directory;
+
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private RosterImporter rosterImporter;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) throws IOException {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        upstream.echoCreates(20);
+        directory = Files.createTempDirectory("roster-transfer");
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+        registry.add("roster.transfer.dir", directory::toString);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void loadRoster() {
+        rosterCache.invalidate();
+        rosterCache.getRoster();
+    }
+
+    @Test
+    void testExportWritesEveryEmployee() throws Exception {
+        transfer("export", "{\"file\":\"roster.csv\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees").value(24))
+                .andExpect(jsonPath("$.format").value("CSV"));
+        transfer("export", "{\"file\":\"roster.ndjson\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees").value(24));
+
+        List<String> csv = Files.readAllLines(directory.resolve("roster.csv"));
+        assertEquals(25, csv.size());
+        assertEquals("id,employee_name,employee_salary,employee_age,profile_image", csv.get(0));
+        assertEquals("1,Tiger Nixon,320800,61,", csv.get(1));
+        List<String> ndjson = Files.readAllLines(directory.resolve("roster.ndjson"));
+        assertEquals(24, ndjson.size());
+        assertEquals("Tiger Nixon", objectMapper.readValue(ndjson.get(0), Employee.class).getEmployee_name());
+        assertFalse(Files.exists(directory.resolve("roster.csv.tmp")));
+    }
+
+    @Test
+    void testImportCreatesValidRecordsAndRejectsTheRest() throws Exception {
+        Path file = directory.resolve("import.csv");
+        Files.write(file, List.of(
+                "employee_name,employee_salary,employee_age",
+                "\"Doe, Jane\",100000,30",
+                "Missing Age,90000,",
+                "Negative Salary,-1,40",
+                "reject,80000,50",
+                "John Roe,110000,41",
+                "",
+                "Ann Poe,120000,52"), StandardCharsets.UTF_8);
+
+        ImportProgress progress = runImport(file, false);
+
+        assertEquals(ImportProgress.State.COMPLETED, progress.getState());
+        assertEquals(7, progress.getRecords());
+        assertEquals(3, progress.getCreated());
+        assertEquals(2, progress.getInvalid());
+        assertEquals(1, progress.getFailed());
+        assertEquals(Files.size(file), progress.getCheckpointOffset());
+        List<String> rejects = Files.readAllLines(directory.resolve("import.csv.rejects"));
+        assertEquals(3, rejects.size());
+        assertTrue(rejects.stream().anyMatch(line -> line.startsWith("2\tage is required")), rejects.toString());
+        assertTrue(upstream.getMaxConcurrentCreates() <= 2);
+        List<String> names = new ArrayList<>();
+        for (Employee employee : rosterCache.getEmployees()) {
+            names.add(employee.getEmployee_name());
+        }
+        assertTrue(names.containsAll(List.of("Doe, Jane", "John Roe", "Ann Poe")), names.toString());
+    }
+
+    @Test
+    void testImportResumesFromCheckpoint() throws Exception {
+        Path file = directory.resolve("resume.ndjson");
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            records.add("{\"name\":\"Resumed " + i + "\",\"salary\":" + (50000 + i) + ",\"age\":" + (20 + i) + "}");
+        }
+        Files.write(file, records, StandardCharsets.UTF_8);
+        long offset = 0;
+        for (int i = 0; i < 4; i++) {
+            offset += records.get(i).getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        // as left by a run that stopped after the fourth record
+        Files.write(directory.resolve("resume.ndjson.checkpoint"),
+                List.of("offset=" + offset, "records=4", "created=4", "invalid=0", "failed=0"), StandardCharsets.UTF_8);
+        int createsBefore = countCreates();
+
+        ImportProgress progress = runImport(file, true);
+
+        assertEquals(ImportProgress.State.COMPLETED, progress.getState());
+        assertEquals(6, progress.getRecords());
+        assertEquals(6, progress.getCreated());
+        assertEquals(2, countCreates() - createsBefore);
+        mockMvc.perform(get("/actuator/rostertransfer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.file").value("resume.ndjson"))
+                .andExpect(jsonPath("$.state").value("COMPLETED"));
+    }
+
+    @Test
+    void testImportResumeSkipsRecordsDoneAfterCheckpointOffset() throws Exception {
+        Path file = directory.resolve("resume-done.ndjson");
+        List<String> records = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        long offset = 0;
+        for (int i = 0; i < 6; i++) {
+            records.add("{\"name\":\"Done " + i + "\",\"salary\":" + (60000 + i) + ",\"age\":" + (30 + i) + "}");
+            offsets.add(offset);
+            offset += records.get(i).getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        Files.write(file, records, StandardCharsets.UTF_8);
+        // as left by a run that stopped with the third record in flight and the fourth created already
+        Files.write(directory.resolve("resume-done.ndjson.checkpoint"),
+                List.of("offset=" + offsets.get(2), "records=2", "done=" + offsets.get(3), "created=3", "invalid=0", "failed=0"),
+                StandardCharsets.UTF_8);
+        int createsBefore = countCreates();
+
+        ImportProgress progress = runImport(file, true);
+
+        assertEquals(ImportProgress.State.COMPLETED, progress.getState());
+        assertEquals(6, progress.getRecords());
+        assertEquals(6, progress.getCreated());
+        assertEquals(3, countCreates() - createsBefore);
+    }
+
+    @Test
+    void testFilesOutsideTheDirectoryAreRefused() throws Exception {
+        transfer("export", "{\"file\":\"../roster.csv\"}").andExpect(status().isBadRequest());
+        transfer("import", "{\"file\":\"missing.csv\"}").andExpect(status().isBadRequest());
+        transfer("export", "{\"file\":\"roster.txt\"}").andExpect(status().isBadRequest());
+    }
+
+    private ResultActions transfer(String action, String body) throws Exception {
+        return mockMvc.perform(post("/actuator/rostertransfer/" + action).contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private ImportProgress runImport(Path file, boolean resume) throws Exception {
+        rosterImporter.start(file, resume);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ImportProgress progress = rosterImporter.getProgress();
+        while (progress.getState() == ImportProgress.State.RUNNING) {
+            assertTrue(System.nanoTime() < deadline, "import not done in time");
+            Thread.sleep(10);
+            progress = rosterImporter.getProgress();
+        }
+        return progress;
+    }
+
+    private int countCreates() {
+        return (int) upstream.getRequests().stream().filter(request -> request.equals("POST /api/v1/create")).count();
+    }
+}
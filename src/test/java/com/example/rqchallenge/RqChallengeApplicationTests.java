@@ -1,6 +1,7 @@
 package com.example.rqchallenge;
 
 import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -13,13 +14,20 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
+// deletes are verified in the background; keep the reconciler away from the mocked listing
+@SpringBootTest(properties = "employees.delete.reconcile-delay-ms=600000")
 class RqChallengeApplicationTests {
     @MockBean
     private DummyService dummyServiceMock;
     @Autowired
     private EmployeeControllerImpl employeeController;
+    @Autowired
+    private RosterCache rosterCache;
 
+    @BeforeEach
+    void clearRosterCache() {
+        rosterCache.invalidate();
+    }
 
     @Test
     void contextLoads() {
@@ -31,7 +39,7 @@ class RqChallengeApplicationTests {
     void testGetAllEmployees() {
         when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
 
-        ResponseEntity<List<Employee>> response = employeeController.getAllEmployees();
+        ResponseEntity<List<Employee>> response = employeeController.getAllEmployees().join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
 
@@ -55,12 +63,28 @@ class RqChallengeApplicationTests {
         tigerNixon.setProfile_image(null);
 
         when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
-        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByNameSearch(searchString);
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByNameSearch(searchString).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(Collections.singletonList(tigerNixon), response.getBody());
     }
 
+    @Test
+    void testGetEmployeesByPartialNameSearch() {
+        when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
+
+        ResponseEntity<List<Employee>> contains = employeeController.getEmployeesByNameSearch("nix").join();
+        ResponseEntity<List<Employee>> prefix = employeeController.getEmployeesByNameSearch("b", "prefix", 2).join();
+
+        assertEquals(HttpStatus.OK, contains.getStatusCode());
+        assertEquals(1, contains.getBody().size());
+        assertEquals("Tiger Nixon", contains.getBody().get(0).getEmployee_name());
+        assertEquals(HttpStatus.OK, prefix.getStatusCode());
+        assertEquals(2, prefix.getBody().size());
+        assertEquals("Bradley Greer", prefix.getBody().get(0).getEmployee_name());
+        assertEquals(HttpStatus.BAD_REQUEST, employeeController.getEmployeesByNameSearch("b", "fuzzy", null).join().getStatusCode());
+    }
+
     @Test
     void testGetEmployeeById() {
         String employeeId = "1";
@@ -73,7 +97,7 @@ class RqChallengeApplicationTests {
         employee.setProfile_image(null);
 
         when(dummyServiceMock.getEmployeeById(employeeId)).thenReturn(TestHelper.getEmployeeOneResponse());
-        ResponseEntity<Employee> response = employeeController.getEmployeeById(employeeId);
+        ResponseEntity<Employee> response = employeeController.getEmployeeById(employeeId).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(employee, response.getBody());
@@ -85,7 +109,7 @@ class RqChallengeApplicationTests {
 
         when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
 
-        ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees();
+        ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees().join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(highestSalary, response.getBody());
@@ -107,7 +131,7 @@ class RqChallengeApplicationTests {
 
         when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
 
-        ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames();
+        ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames().join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         List<String> topTenNamesResponse = response.getBody();
@@ -119,15 +143,38 @@ class RqChallengeApplicationTests {
         }
     }
 
+    @Test
+    void testGetTopHighestEarningEmployeeNamesWithLimit() {
+        when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
+
+        ResponseEntity<List<String>> response = employeeController.getTopHighestEarningEmployeeNames(3).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Arrays.asList("Paul Byrd", "Yuri Berry", "Charde Marshall"), response.getBody());
+        assertEquals(HttpStatus.BAD_REQUEST, employeeController.getTopHighestEarningEmployeeNames(0).join().getStatusCode());
+    }
+
+    @Test
+    void testDeleteEmployeeUpdatesSalaryAggregates() {
+        when(dummyServiceMock.getEmployees()).thenReturn(TestHelper.getAllEmployeesResponse());
+        assertEquals(725000, employeeController.getHighestSalaryOfEmployees().join().getBody());
+
+        employeeController.deleteEmployeeById("17").join();
+
+        assertEquals(675000, employeeController.getHighestSalaryOfEmployees().join().getBody());
+        assertFalse(employeeController.getTopTenHighestEarningEmployeeNames().join().getBody().contains("Paul Byrd"));
+        verify(dummyServiceMock, times(1)).getEmployees();
+    }
+
     @Test
     void testDeleteEmployeeById() {
         String employeeId = "1";
-        when(dummyServiceMock.getEmployeeById(employeeId)).thenReturn(TestHelper.getDeletedEmployee());
-        ResponseEntity<String> response = employeeController.deleteEmployeeById(employeeId);
+        ResponseEntity<String> response = employeeController.deleteEmployeeById(employeeId).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Employee deleted successfully", response.getBody());
         verify(dummyServiceMock).deleteEmployee(employeeId);
+        verify(dummyServiceMock, never()).getEmployeeById(employeeId);
     }
 
     @Test
@@ -144,7 +191,7 @@ class RqChallengeApplicationTests {
         employee.setEmployee_age(31);
 
         when(dummyServiceMock.createEmployee(employee)).thenReturn(TestHelper.getCreatedEmployeeResponse());
-        ResponseEntity<Employee> response = employeeController.createEmployee(employeeInput);
+        ResponseEntity<Employee> response = employeeController.createEmployee(employeeInput).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Employee createdEmployee = response.getBody();
@@ -153,4 +200,16 @@ class RqChallengeApplicationTests {
         assertEquals(100000, createdEmployee.getEmployee_salary());
         assertEquals(31, createdEmployee.getEmployee_age());
     }
+
+    @Test
+    void testCreateEmployeeRejectsNameTooLongToReplicate() {
+        Map<String, Object> employeeInput = new HashMap<>() {{
+            put("name", "n".repeat(Employee.MAX_NAME_BYTES + 1));
+            put("salary", 100000);
+            put("age", 31);
+        }};
+
+        assertEquals(HttpStatus.BAD_REQUEST, employeeController.createEmployee(employeeInput).join().getStatusCode());
+        verify(dummyServiceMock, never()).createEmployee(any());
+    }
 }
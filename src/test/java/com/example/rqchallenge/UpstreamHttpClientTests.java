@@ -0,0 +1,85 @@
+package com.example.rqchallenge;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"upstream.http.max-connections=8", "upstream.http.max-connections-per-route=4", "upstream.http.read-timeout-ms=300"})
+class UpstreamHttpClientTests {
+    @Autowired
+    private RestTemplate restTemplate;
+    @Autowired
+    private PoolingHttpClientConnectionManager upstreamConnectionManager;
+    @Autowired
+    private UpstreamPoolEndpoint upstreamPoolEndpoint;
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/fast", exchange -> {
+            byte[] body = "{\"status\":\"success\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testPoolIsSizedFromProperties() {
+        assertEquals(8, upstreamConnectionManager.getMaxTotal());
+        assertEquals(4, upstreamConnectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    void testConnectionsAreKeptAliveAndReused() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("{\"status\":\"success\"}", restTemplate.getForObject(baseUrl + "/fast", String.class));
+        }
+
+        Map<String, Object> stats = upstreamPoolEndpoint.poolStats();
+        assertEquals(0, stats.get("leased"));
+        assertEquals(1, stats.get("available"));
+        assertEquals(8, stats.get("max"));
+        assertTrue(((Map<?, ?>) stats.get("routes")).containsKey(baseUrl));
+    }
+
+    @Test
+    void testReadTimeoutIsApplied() {
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(baseUrl + "/slow", String.class));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"upstream.resilience.base-backoff-ms=10", "upstream.resilience.breaker.failure-threshold=3",
+        "upstream.resilience.breaker.open-ms=300"})
+class UpstreamResilienceTests {
+    private static UpstreamStub upstream;
+    private static List<String> requests;
+
+    @Autowired
+    private EmployeeControllerImpl employeeController;
+    @Autowired
+    private UpstreamClient upstreamClient;
+    @Autowired
+    private RosterCache rosterCache;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        requests = upstream.getRequests();
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @BeforeEach
+    void reset() throws InterruptedException {
+        upstream.failNext(0, 200, null);
+        if (upstreamClient.getCircuitState() != CircuitBreaker.State.CLOSED) {
+            Thread.sleep(300);
+            upstreamClient.getEmployees().join();
+        }
+        rosterCache.invalidate();
+        requests.clear();
+    }
+
+    @Test
+    void testThrottledCallWaitsForRetryAfter() {
+        upstream.failNext(1, 429, "1");
+        long started = System.nanoTime();
+
+        ResponseEntity<Employee> response = employeeController.getEmployeeById("1").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void testServerErrorsAreRetried() {
+        upstream.failNext(2, 503, null);
+
+        assertEquals(HttpStatus.OK, employeeController.getAllEmployees().join().getStatusCode());
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    void testCreateIsNotRetriedWhenUpstreamMayHaveActed() {
+        upstream.failNext(1, 500, null);
+        Map<String, Object> employeeInput = new HashMap<>();
+        employeeInput.put("name", "newName");
+        employeeInput.put("salary", 100000);
+        employeeInput.put("age", 31);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, employeeController.createEmployee(employeeInput).join().getStatusCode());
+        assertEquals(Collections.singletonList("POST /api/v1/create"), requests);
+    }
+
+    @Test
+    void testClientErrorIsReturnedInsteadOfThrown() {
+        upstream.failNext(1, 404, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, employeeController.getEmployeeById("1").join().getStatusCode());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testOpenCircuitFailsFastAndServesCachedData() throws InterruptedException {
+        assertEquals(24, rosterCache.getRoster().size());
+        upstream.failNext(100, 500, null);
+
+        // three failed attempts in a row open the circuit, the fourth is refused locally
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, upstreamClient.getEmployees().join().getStatusCode());
+        assertEquals(CircuitBreaker.State.OPEN, upstreamClient.getCircuitState());
+        int sent = requests.size();
+        assertEquals(4, sent);
+
+        ResponseEntity<Employee> cached = employeeController.getEmployeeById("1").join();
+        assertEquals(HttpStatus.OK, cached.getStatusCode());
+        assertEquals("Tiger Nixon", cached.getBody().getEmployee_name());
+        assertEquals(sent, requests.size());
+
+        upstream.failNext(0, 200, null);
+        Thread.sleep(300);
+        assertEquals(HttpStatus.OK, upstreamClient.getEmployees().join().getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, upstreamClient.getCircuitState());
+    }
+
+    @Test
+    void testTokenBucketSpacesRequestsPastTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2);
+
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        long wait = bucket.reserve(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(50) && wait <= TimeUnit.MILLISECONDS.toNanos(100), "waited " + wait);
+        assertEquals(-1, bucket.reserve(TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.rqchallenge;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP server serving canned responses for the four upstream routes and recording the requests it receives.
+ * With {@link #echoCreates(long)} creates are answered with the posted employee under a new id instead,
+ * {@link #failNext(int, int, String)} makes the next requests fail with a given status, and
+ * {@link #slowNext(int, long)} delays them.
+ */
+public class UpstreamStub {
+    public static final String CREATED_EMPLOYEE_JSON = "{\"status\":\"success\",\"data\":{\"id\":25,\"employee_name\":\"newName\",\"employee_salary\":100000,\"employee_age\":31}}";
+    public static final String DELETED_JSON = "{\"status\":\"success\",\"message\":\"successfully! deleted Record\"}";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger nextId = new AtomicInteger(1000);
+    private final AtomicInteger activeCreates = new AtomicInteger();
+    private final AtomicInteger maxActiveCreates = new AtomicInteger();
+    private volatile long createDelayMillis = -1;
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+    private volatile int failureStatus;
+    private volatile String failureRetryAfter;
+    private final AtomicInteger slowRemaining = new AtomicInteger();
+    private volatile long slowDelayMillis;
+
+    public UpstreamStub(String employeesJson) {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/api/v1/employees", exchange -> respond(exchange, employeesJson));
+        server.createContext("/api/v1/employee/", exchange -> respond(exchange, TestHelper.EMPLOYEE_ONE_JSON));
+        server.createContext("/api/v1/create", exchange -> {
+            if (createDelayMillis < 0) {
+                respond(exchange, CREATED_EMPLOYEE_JSON);
+            } else {
+                echoCreate(exchange);
+            }
+        });
+        server.createContext("/api/v1/delete/", exchange -> respond(exchange, DELETED_JSON));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public List<String> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Answers each create after the given delay with the posted employee under a new id, or with a 500 when the
+     * posted name is "reject".
+     */
+    public void echoCreates(long delayMillis) {
+        createDelayMillis = delayMillis;
+    }
+
+    /**
+     * Answers the next requests, on any route, with the given status.
+     *
+     * @param count      number of requests to fail.
+     * @param status     status to answer with.
+     * @param retryAfter value of the Retry-After header, or null for none.
+     */
+    public void failNext(int count, int status, String retryAfter) {
+        failureStatus = status;
+        failureRetryAfter = retryAfter;
+        failuresRemaining.set(count);
+    }
+
+    /**
+     * Delays the answers to the next requests, on any route.
+     */
+    public void slowNext(int count, long delayMillis) {
+        slowDelayMillis = delayMillis;
+        slowRemaining.set(count);
+    }
+
+    /**
+     * @return the largest number of creates that were being handled at the same time.
+     */
+    public int getMaxConcurrentCreates() {
+        return maxActiveCreates.get();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void echoCreate(HttpExchange exchange) throws IOException {
+        maxActiveCreates.accumulateAndGet(activeCreates.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(createDelayMillis);
+            Map<?, ?> input = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            if ("reject".equals(input.get("employee_name"))) {
+                respond(exchange, 500, "{\"status\":\"error\"}");
+                return;
+            }
+            Map<String, Object> employee = new LinkedHashMap<>();
+            employee.put("id", nextId.getAndIncrement());
+            employee.put("employee_name", input.get("employee_name"));
+            employee.put("employee_salary", input.get("employee_salary"));
+            employee.put("employee_age", input.get("employee_age"));
+            respond(exchange, 200, objectMapper.writeValueAsString(Collections.singletonMap("data", employee)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            activeCreates.decrementAndGet();
+        }
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        respond(exchange, 200, json);
+    }
+
+    private void respond(HttpExchange exchange, int status, String json) throws IOException {
+        requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+        if (slowRemaining.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            try {
+                Thread.sleep(slowDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failuresRemaining.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            status = failureStatus;
+            json = "{\"status\":\"error\"}";
+            if (failureRetryAfter != null) {
+                exchange.getResponseHeaders().add("Retry-After", failureRetryAfter);
+            }
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
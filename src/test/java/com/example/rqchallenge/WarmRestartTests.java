@@ -0,0 +1,49 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class WarmRestartTests {
+    @MockBean
+    private DummyService dummyServiceMock;
+    @Autowired
+    private EmployeeControllerImpl employeeController;
+
+    @DynamicPropertySource
+    static void persistedRoster(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("roster-store");
+        RosterStore previousRun = new RosterStore(directory.toString(), 10);
+        previousRun.open();
+        previousRun.writeSnapshot(new Roster(TestHelper.getAllEmployeesResponse().getBody().getData()));
+        previousRun.appendDeleted(24);
+        previousRun.close();
+        registry.add("roster.store.dir", directory::toString);
+    }
+
+    @Test
+    void testPersistedRosterIsServedWhileUpstreamIsDown() {
+        when(dummyServiceMock.getEmployees()).thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+
+        ResponseEntity<List<Employee>> response = employeeController.getAllEmployees().join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(23, response.getBody().size());
+        verify(dummyServiceMock, timeout(1000).atLeastOnce()).getEmployees();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// one upstream attempt per warm-up try, and no circuit breaker in the way of the retries
+@SpringBootTest(properties = {"employees.warmup.enabled=true", "employees.warmup.jitter-ms=0",
+        "employees.warmup.iterations=5", "employees.warmup.retry-ms=50", "upstream.resilience.max-attempts=1",
+        "upstream.resilience.breaker.failure-threshold=1000"})
+@AutoConfigureMockMvc
+class WarmupTests {
+    private static UpstreamStub upstream;
+
+    @Autowired
+    private RosterWarmup rosterWarmup;
+    @Autowired
+    private RosterCache rosterCache;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = new UpstreamStub(TestHelper.ALL_EMPLOYEES_JSON);
+        // the upstream is down until the test lets it recover
+        upstream.failNext(Integer.MAX_VALUE, 503, null);
+        registry.add("upstream.base-url", upstream::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        upstream.stop();
+    }
+
+    @Test
+    void testNotReadyUntilWarm() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("OUT_OF_SERVICE"));
+        mockMvc.perform(get("/actuator/health/liveness")).andExpect(status().isOk());
+        assertTrue(Double.isNaN(readyTime()));
+
+        upstream.failNext(0, 503, null);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!rosterWarmup.isWarm()) {
+            assertTrue(System.nanoTime() < deadline, "not warm in time");
+            Thread.sleep(10);
+        }
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        assertNotNull(rosterCache.peekStale());
+        assertTrue(readyTime() > 0);
+        assertTrue(upstream.getRequests().stream().noneMatch(request -> request.startsWith("GET /api/v1/employee/")),
+                upstream.getRequests().toString());
+    }
+
+    private double readyTime() {
+        return meterRegistry.get("employees.warmup.ready.time").timeGauge().value(TimeUnit.MILLISECONDS);
+    }
+}